@@ -1,225 +1,227 @@
 <?xml version="1.0" encoding="UTF-8"?>
 <tileset version="1.2" tiledversion="1.3.2" name="tiles" tilewidth="300" tileheight="300" tilecount="136" columns="8">
  <image source="tiles.png" width="2400" height="5100"/>
- <tile id="0">
+ <tile id="0" type="pushpanel">
   <properties>
    <property name="pushFrom" type="int" value="0"/>
   </properties>
  </tile>
- <tile id="1">
+ <tile id="1" type="pushpanel">
   <properties>
    <property name="pushFrom" type="int" value="90"/>
   </properties>
  </tile>
- <tile id="2">
+ <tile id="2" type="pushpanel">
   <properties>
    <property name="pushFrom" type="int" value="180"/>
   </properties>
  </tile>
- <tile id="3">
+ <tile id="3" type="pushpanel">
   <properties>
    <property name="pushFrom" type="int" value="270"/>
   </properties>
  </tile>
- <tile id="6">
+ <tile id="4" type="board"/>
+ <tile id="5" type="hole"/>
+ <tile id="6" type="repairstation">
   <properties>
    <property name="speed" type="int" value="2"/>
   </properties>
  </tile>
- <tile id="7">
+ <tile id="7" type="wall">
   <properties>
    <property name="block0" type="int" value="90"/>
    <property name="block1" type="int" value="180"/>
    <property name="laser" type="bool" value="false"/>
   </properties>
  </tile>
- <tile id="8">
+ <tile id="8" type="pushpanel">
   <properties>
    <property name="pushFrom" type="int" value="0"/>
   </properties>
  </tile>
- <tile id="9">
+ <tile id="9" type="pushpanel">
   <properties>
    <property name="pushFrom" type="int" value="90"/>
   </properties>
  </tile>
- <tile id="10">
+ <tile id="10" type="pushpanel">
   <properties>
    <property name="pushFrom" type="int" value="180"/>
   </properties>
  </tile>
- <tile id="11">
+ <tile id="11" type="pushpanel">
   <properties>
    <property name="pushFrom" type="int" value="270"/>
   </properties>
  </tile>
- <tile id="12">
+ <tile id="12" type="beltx2">
   <properties>
    <property name="ent0" type="int" value="180"/>
    <property name="ent1" type="int" value="180"/>
    <property name="exit" type="int" value="0"/>
   </properties>
  </tile>
- <tile id="13">
+ <tile id="13" type="beltx2">
   <properties>
    <property name="ent0" type="int" value="270"/>
    <property name="ent1" type="int" value="270"/>
    <property name="exit" type="int" value="90"/>
   </properties>
  </tile>
- <tile id="14">
+ <tile id="14" type="repairstation">
   <properties>
    <property name="speed" type="int" value="1"/>
   </properties>
  </tile>
- <tile id="15">
+ <tile id="15" type="wall">
   <properties>
    <property name="block0" type="int" value="90"/>
    <property name="block1" type="int" value="0"/>
    <property name="laser" type="bool" value="false"/>
   </properties>
  </tile>
- <tile id="16">
+ <tile id="16" type="beltx2">
   <properties>
    <property name="ent0" type="int" value="90"/>
    <property name="ent1" type="int" value="90"/>
    <property name="exit" type="int" value="180"/>
   </properties>
  </tile>
- <tile id="17">
+ <tile id="17" type="beltx2">
   <properties>
    <property name="ent0" type="int" value="180"/>
    <property name="ent1" type="int" value="180"/>
    <property name="exit" type="int" value="270"/>
   </properties>
  </tile>
- <tile id="18">
+ <tile id="18" type="beltx2">
   <properties>
    <property name="ent0" type="int" value="180"/>
    <property name="ent1" type="int" value="180"/>
    <property name="exit" type="int" value="90"/>
   </properties>
  </tile>
- <tile id="19">
+ <tile id="19" type="beltx2">
   <properties>
    <property name="ent0" type="int" value="270"/>
    <property name="ent1" type="int" value="270"/>
    <property name="exit" type="int" value="180"/>
   </properties>
  </tile>
- <tile id="20">
+ <tile id="20" type="beltx2">
   <properties>
    <property name="ent0" type="int" value="0"/>
    <property name="ent1" type="int" value="0"/>
    <property name="exit" type="int" value="180"/>
   </properties>
  </tile>
- <tile id="21">
+ <tile id="21" type="beltx2">
   <properties>
    <property name="ent0" type="int" value="90"/>
    <property name="ent1" type="int" value="90"/>
    <property name="exit" type="int" value="270"/>
   </properties>
  </tile>
- <tile id="22">
+ <tile id="22" type="wall">
   <properties>
    <property name="block0" type="int" value="90"/>
    <property name="block1" type="int" value="90"/>
    <property name="laser" type="bool" value="false"/>
   </properties>
  </tile>
- <tile id="23">
+ <tile id="23" type="wall">
   <properties>
    <property name="block0" type="int" value="0"/>
    <property name="block1" type="int" value="270"/>
    <property name="laser" type="bool" value="false"/>
   </properties>
  </tile>
- <tile id="24">
+ <tile id="24" type="beltx2">
   <properties>
    <property name="ent0" type="int" value="0"/>
    <property name="ent1" type="int" value="0"/>
    <property name="exit" type="int" value="90"/>
   </properties>
  </tile>
- <tile id="25">
+ <tile id="25" type="beltx2">
   <properties>
    <property name="ent0" type="int" value="270"/>
    <property name="ent1" type="int" value="270"/>
    <property name="exit" type="int" value="0"/>
   </properties>
  </tile>
- <tile id="26">
+ <tile id="26" type="beltx2">
   <properties>
    <property name="ent0" type="int" value="90"/>
    <property name="ent1" type="int" value="90"/>
    <property name="exit" type="int" value="0"/>
   </properties>
  </tile>
- <tile id="27">
+ <tile id="27" type="beltx2">
   <properties>
    <property name="ent0" type="int" value="0"/>
    <property name="ent1" type="int" value="0"/>
    <property name="exit" type="int" value="270"/>
   </properties>
  </tile>
- <tile id="28">
+ <tile id="28" type="wall">
   <properties>
    <property name="block0" type="int" value="180"/>
    <property name="block1" type="int" value="180"/>
    <property name="laser" type="bool" value="false"/>
   </properties>
  </tile>
- <tile id="29">
+ <tile id="29" type="wall">
   <properties>
    <property name="block0" type="int" value="270"/>
    <property name="block1" type="int" value="270"/>
    <property name="laser" type="bool" value="false"/>
   </properties>
  </tile>
- <tile id="30">
+ <tile id="30" type="wall">
   <properties>
    <property name="block0" type="int" value="0"/>
    <property name="block1" type="int" value="0"/>
    <property name="laser" type="bool" value="false"/>
   </properties>
  </tile>
- <tile id="31">
+ <tile id="31" type="wall">
   <properties>
    <property name="block0" type="int" value="180"/>
    <property name="block1" type="int" value="270"/>
    <property name="laser" type="bool" value="false"/>
   </properties>
  </tile>
- <tile id="32">
+ <tile id="32" type="beltx1">
   <properties>
    <property name="ent0" type="int" value="90"/>
    <property name="ent1" type="int" value="90"/>
    <property name="exit" type="int" value="180"/>
   </properties>
  </tile>
- <tile id="33">
+ <tile id="33" type="beltx1">
   <properties>
    <property name="ent0" type="int" value="180"/>
    <property name="ent1" type="int" value="180"/>
    <property name="exit" type="int" value="270"/>
   </properties>
  </tile>
- <tile id="34">
+ <tile id="34" type="beltx1">
   <properties>
    <property name="ent0" type="int" value="180"/>
    <property name="ent1" type="int" value="180"/>
    <property name="exit" type="int" value="90"/>
   </properties>
  </tile>
- <tile id="35">
+ <tile id="35" type="beltx1">
   <properties>
    <property name="ent0" type="int" value="270"/>
    <property name="ent1" type="int" value="270"/>
    <property name="exit" type="int" value="180"/>
   </properties>
  </tile>
- <tile id="36">
+ <tile id="36" type="wall">
   <properties>
    <property name="block0" type="int" value="180"/>
    <property name="block1" type="int" value="180"/>
@@ -227,7 +229,7 @@
    <property name="laser" type="bool" value="true"/>
   </properties>
  </tile>
- <tile id="37">
+ <tile id="37" type="wall">
   <properties>
    <property name="block0" type="int" value="270"/>
    <property name="block1" type="int" value="270"/>
@@ -235,35 +237,37 @@
    <property name="laser" type="bool" value="true"/>
   </properties>
  </tile>
- <tile id="40">
+ <tile id="38" type="laser"/>
+ <tile id="39" type="laser"/>
+ <tile id="40" type="beltx1">
   <properties>
    <property name="ent0" type="int" value="0"/>
    <property name="ent1" type="int" value="0"/>
    <property name="exit" type="int" value="90"/>
   </properties>
  </tile>
- <tile id="41">
+ <tile id="41" type="beltx1">
   <properties>
    <property name="ent0" type="int" value="270"/>
    <property name="ent1" type="int" value="270"/>
    <property name="exit" type="int" value="0"/>
   </properties>
  </tile>
- <tile id="42">
+ <tile id="42" type="beltx1">
   <properties>
    <property name="ent0" type="int" value="90"/>
    <property name="ent1" type="int" value="90"/>
    <property name="exit" type="int" value="0"/>
   </properties>
  </tile>
- <tile id="43">
+ <tile id="43" type="beltx1">
   <properties>
    <property name="ent0" type="int" value="0"/>
    <property name="ent1" type="int" value="0"/>
    <property name="exit" type="int" value="270"/>
   </properties>
  </tile>
- <tile id="44">
+ <tile id="44" type="wall">
   <properties>
    <property name="block0" type="int" value="0"/>
    <property name="block1" type="int" value="0"/>
@@ -271,7 +275,7 @@
    <property name="laser" type="bool" value="true"/>
   </properties>
  </tile>
- <tile id="45">
+ <tile id="45" type="wall">
   <properties>
    <property name="block0" type="int" value="90"/>
    <property name="block1" type="int" value="90"/>
@@ -279,233 +283,234 @@
    <property name="laser" type="bool" value="true"/>
   </properties>
  </tile>
- <tile id="48">
+ <tile id="46" type="laser"/>
+ <tile id="48" type="beltx1">
   <properties>
    <property name="ent0" type="int" value="180"/>
    <property name="ent1" type="int" value="180"/>
    <property name="exit" type="int" value="0"/>
   </properties>
  </tile>
- <tile id="49">
+ <tile id="49" type="beltx1">
   <properties>
    <property name="ent0" type="int" value="0"/>
    <property name="ent1" type="int" value="0"/>
    <property name="exit" type="int" value="180"/>
   </properties>
  </tile>
- <tile id="50">
+ <tile id="50" type="beltx1">
   <properties>
    <property name="ent0" type="int" value="90"/>
    <property name="ent1" type="int" value="90"/>
    <property name="exit" type="int" value="270"/>
   </properties>
  </tile>
- <tile id="51">
+ <tile id="51" type="beltx1">
   <properties>
    <property name="ent0" type="int" value="270"/>
    <property name="ent1" type="int" value="270"/>
    <property name="exit" type="int" value="90"/>
   </properties>
  </tile>
- <tile id="52">
+ <tile id="52" type="cog">
   <properties>
    <property name="direction" value="left"/>
   </properties>
  </tile>
- <tile id="53">
+ <tile id="53" type="cog">
   <properties>
    <property name="direction" value="right"/>
   </properties>
  </tile>
- <tile id="54">
+ <tile id="54" type="flag">
   <properties>
    <property name="flagNum" type="int" value="1"/>
   </properties>
  </tile>
- <tile id="56">
+ <tile id="56" type="beltx1">
   <properties>
    <property name="ent0" type="int" value="270"/>
    <property name="ent1" type="int" value="180"/>
    <property name="exit" type="int" value="0"/>
   </properties>
  </tile>
- <tile id="57">
+ <tile id="57" type="beltx1">
   <properties>
    <property name="ent0" type="int" value="0"/>
    <property name="ent1" type="int" value="270"/>
    <property name="exit" type="int" value="90"/>
   </properties>
  </tile>
- <tile id="58">
+ <tile id="58" type="beltx1">
   <properties>
    <property name="ent0" type="int" value="0"/>
    <property name="ent1" type="int" value="90"/>
    <property name="exit" type="int" value="180"/>
   </properties>
  </tile>
- <tile id="59">
+ <tile id="59" type="beltx1">
   <properties>
    <property name="ent0" type="int" value="90"/>
    <property name="ent1" type="int" value="180"/>
    <property name="exit" type="int" value="270"/>
   </properties>
  </tile>
- <tile id="60">
+ <tile id="60" type="beltx1">
   <properties>
    <property name="ent0" type="int" value="0"/>
    <property name="ent1" type="int" value="180"/>
    <property name="exit" type="int" value="90"/>
   </properties>
  </tile>
- <tile id="61">
+ <tile id="61" type="beltx1">
   <properties>
    <property name="ent0" type="int" value="270"/>
    <property name="ent1" type="int" value="90"/>
    <property name="exit" type="int" value="180"/>
   </properties>
  </tile>
- <tile id="62">
+ <tile id="62" type="flag">
   <properties>
    <property name="flagNum" type="int" value="2"/>
   </properties>
  </tile>
- <tile id="64">
+ <tile id="64" type="beltx1">
   <properties>
    <property name="ent0" type="int" value="180"/>
    <property name="ent1" type="int" value="90"/>
    <property name="exit" type="int" value="0"/>
   </properties>
  </tile>
- <tile id="65">
+ <tile id="65" type="beltx1">
   <properties>
    <property name="ent0" type="int" value="270"/>
    <property name="ent1" type="int" value="180"/>
    <property name="exit" type="int" value="90"/>
   </properties>
  </tile>
- <tile id="66">
+ <tile id="66" type="beltx1">
   <properties>
    <property name="ent0" type="int" value="0"/>
    <property name="ent1" type="int" value="270"/>
    <property name="exit" type="int" value="180"/>
   </properties>
  </tile>
- <tile id="67">
+ <tile id="67" type="beltx1">
   <properties>
    <property name="ent0" type="int" value="0"/>
    <property name="ent1" type="int" value="90"/>
    <property name="exit" type="int" value="270"/>
   </properties>
  </tile>
- <tile id="68">
+ <tile id="68" type="beltx1">
   <properties>
    <property name="ent0" type="int" value="90"/>
    <property name="ent1" type="int" value="270"/>
    <property name="exit" type="int" value="0"/>
   </properties>
  </tile>
- <tile id="69">
+ <tile id="69" type="beltx1">
   <properties>
    <property name="ent0" type="int" value="0"/>
    <property name="ent1" type="int" value="180"/>
    <property name="exit" type="int" value="270"/>
   </properties>
  </tile>
- <tile id="70">
+ <tile id="70" type="flag">
   <properties>
    <property name="flagNum" type="int" value="3"/>
   </properties>
  </tile>
- <tile id="72">
+ <tile id="72" type="beltx2">
   <properties>
    <property name="ent0" type="int" value="270"/>
    <property name="ent1" type="int" value="180"/>
    <property name="exit" type="int" value="0"/>
   </properties>
  </tile>
- <tile id="73">
+ <tile id="73" type="beltx2">
   <properties>
    <property name="ent0" type="int" value="0"/>
    <property name="ent1" type="int" value="270"/>
    <property name="exit" type="int" value="90"/>
   </properties>
  </tile>
- <tile id="74">
+ <tile id="74" type="beltx2">
   <properties>
    <property name="ent0" type="int" value="0"/>
    <property name="ent1" type="int" value="90"/>
    <property name="exit" type="int" value="180"/>
   </properties>
  </tile>
- <tile id="75">
+ <tile id="75" type="beltx2">
   <properties>
    <property name="ent0" type="int" value="90"/>
    <property name="ent1" type="int" value="180"/>
    <property name="exit" type="int" value="270"/>
   </properties>
  </tile>
- <tile id="76">
+ <tile id="76" type="beltx2">
   <properties>
    <property name="ent0" type="int" value="90"/>
    <property name="ent1" type="int" value="180"/>
    <property name="exit" type="int" value="0"/>
   </properties>
  </tile>
- <tile id="77">
+ <tile id="77" type="beltx2">
   <properties>
    <property name="ent0" type="int" value="270"/>
    <property name="ent1" type="int" value="180"/>
    <property name="exit" type="int" value="90"/>
   </properties>
  </tile>
- <tile id="78">
+ <tile id="78" type="flag">
   <properties>
    <property name="flagNum" type="int" value="4"/>
   </properties>
  </tile>
- <tile id="80">
+ <tile id="80" type="beltx2">
   <properties>
    <property name="ent0" type="int" value="0"/>
    <property name="ent1" type="int" value="180"/>
    <property name="exit" type="int" value="90"/>
   </properties>
  </tile>
- <tile id="81">
+ <tile id="81" type="beltx2">
   <properties>
    <property name="ent0" type="int" value="90"/>
    <property name="ent1" type="int" value="270"/>
    <property name="exit" type="int" value="180"/>
   </properties>
  </tile>
- <tile id="82">
+ <tile id="82" type="beltx2">
   <properties>
    <property name="ent0" type="int" value="0"/>
    <property name="ent1" type="int" value="180"/>
    <property name="exit" type="int" value="270"/>
   </properties>
  </tile>
- <tile id="83">
+ <tile id="83" type="beltx2">
   <properties>
    <property name="ent0" type="int" value="90"/>
    <property name="ent1" type="int" value="270"/>
    <property name="exit" type="int" value="0"/>
   </properties>
  </tile>
- <tile id="84">
+ <tile id="84" type="beltx2">
   <properties>
    <property name="ent0" type="int" value="0"/>
    <property name="ent1" type="int" value="90"/>
    <property name="exit" type="int" value="270"/>
   </properties>
  </tile>
- <tile id="85">
+ <tile id="85" type="beltx2">
   <properties>
    <property name="ent0" type="int" value="0"/>
    <property name="ent1" type="int" value="270"/>
    <property name="exit" type="int" value="180"/>
   </properties>
  </tile>
- <tile id="86">
+ <tile id="86" type="wall">
   <properties>
    <property name="block0" type="int" value="180"/>
    <property name="block1" type="int" value="180"/>
@@ -513,7 +518,11 @@
    <property name="laser" type="bool" value="true"/>
   </properties>
  </tile>
- <tile id="92">
+ <tile id="88" type="firepit"/>
+ <tile id="89" type="firepit"/>
+ <tile id="90" type="hole"/>
+ <tile id="91" type="hole"/>
+ <tile id="92" type="wall">
   <properties>
    <property name="block0" type="int" value="270"/>
    <property name="block1" type="int" value="270"/>
@@ -521,7 +530,7 @@
    <property name="laser" type="bool" value="true"/>
   </properties>
  </tile>
- <tile id="93">
+ <tile id="93" type="wall">
   <properties>
    <property name="block0" type="int" value="0"/>
    <property name="block1" type="int" value="0"/>
@@ -529,7 +538,7 @@
    <property name="laser" type="bool" value="true"/>
   </properties>
  </tile>
- <tile id="94">
+ <tile id="94" type="wall">
   <properties>
    <property name="block0" type="int" value="90"/>
    <property name="block1" type="int" value="90"/>
@@ -537,4 +546,63 @@
    <property name="laser" type="bool" value="true"/>
   </properties>
  </tile>
+ <tile id="96" type="flagplatform"/>
+ <tile id="97" type="flagplatform"/>
+ <tile id="98" type="flagplatform"/>
+ <tile id="99" type="flagplatform"/>
+ <tile id="100" type="laser"/>
+ <tile id="101" type="laser"/>
+ <tile id="102" type="laser"/>
+ <tile id="104" type="hole"/>
+ <tile id="105" type="hole"/>
+ <tile id="106" type="hole"/>
+ <tile id="107" type="hole"/>
+ <tile id="108" type="hole"/>
+ <tile id="109" type="hole"/>
+ <tile id="112" type="hole"/>
+ <tile id="113" type="hole"/>
+ <tile id="114" type="hole"/>
+ <tile id="115" type="hole"/>
+ <tile id="116" type="hole"/>
+ <tile id="117" type="hole"/>
+ <tile id="120" type="startingplatform">
+  <properties>
+   <property name="startNum" type="int" value="1"/>
+  </properties>
+ </tile>
+ <tile id="121" type="startingplatform">
+  <properties>
+   <property name="startNum" type="int" value="2"/>
+  </properties>
+ </tile>
+ <tile id="122" type="startingplatform">
+  <properties>
+   <property name="startNum" type="int" value="3"/>
+  </properties>
+ </tile>
+ <tile id="123" type="startingplatform">
+  <properties>
+   <property name="startNum" type="int" value="4"/>
+  </properties>
+ </tile>
+ <tile id="128" type="startingplatform">
+  <properties>
+   <property name="startNum" type="int" value="5"/>
+  </properties>
+ </tile>
+ <tile id="129" type="startingplatform">
+  <properties>
+   <property name="startNum" type="int" value="6"/>
+  </properties>
+ </tile>
+ <tile id="130" type="startingplatform">
+  <properties>
+   <property name="startNum" type="int" value="7"/>
+  </properties>
+ </tile>
+ <tile id="131" type="startingplatform">
+  <properties>
+   <property name="startNum" type="int" value="8"/>
+  </properties>
+ </tile>
 </tileset>
@@ -0,0 +1,36 @@
+package inf112.app.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the gc profiler, so both the throughput and
+ * the allocation rate are reported. The results are also written to target/benchmark-results.csv <br>
+ * Takes the normal JMH arguments, for example a regex to only run some of the benchmarks:
+ * mvn -P benchmark test-compile exec:exec -Djmh.args="Laser" <br>
+ * Every course in assets/Maps is benchmarked, unless some are picked with -p course=Maps/IslandHop
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.CSV)
+                .result("target/benchmark-results.csv");
+        if (commandLine.getIncludes().isEmpty()) {
+            options.include("inf112\\.app\\.benchmark\\..*");
+        }
+        if (!commandLine.getParameter(Course.PARAM).hasValue()) {
+            options.param(Course.PARAM, Course.courses());
+        }
+        new Runner(options.build()).run();
+    }
+}
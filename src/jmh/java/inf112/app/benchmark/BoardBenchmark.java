@@ -0,0 +1,51 @@
+package inf112.app.benchmark;
+
+import inf112.app.map.Map;
+import inf112.app.map.MapCellList;
+import inf112.app.util.BoardReader;
+import inf112.app.util.CourseCompiler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading a course into the game logic
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+    @State(Scope.Thread)
+    public static class CompiledCourse {
+        @Setup
+        public void compile(Course course) {
+            CourseCompiler.compile(course.getPath());
+        }
+    }
+
+    @Benchmark
+    public MapCellList readCells(Course course) {
+        return new BoardReader().read(course.getPath());
+    }
+
+    @Benchmark
+    public MapCellList readCompiledCells(Course course, CompiledCourse compiled) {
+        return CourseCompiler.read(course.getPath());
+    }
+
+    @Benchmark
+    public Map buildMap(Course course) {
+        return new Map(course.getName());
+    }
+}
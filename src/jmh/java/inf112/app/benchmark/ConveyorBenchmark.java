@@ -0,0 +1,77 @@
+package inf112.app.benchmark;
+
+import inf112.app.map.Map;
+import inf112.app.map.MapCellList;
+import inf112.app.map.Position;
+import inf112.app.objects.Conveyor;
+import inf112.app.objects.Robot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Robots carried by the conveyor belts, one at a time and all at once
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ConveyorBenchmark {
+    @Param({"2", "4", "8"})
+    public int robotCount;
+
+    private Map map;
+    private ArrayList<Robot> robots;
+    private Conveyor[] belts;
+
+    @Setup(Level.Trial)
+    public void setUp(Course course) {
+        map = new Map(course.getName());
+        robots = new ArrayList<>();
+        MapCellList cells = map.getCellList();
+        for (int index = 0; index < cells.getSizeX() * cells.getSizeY() && robots.size() < robotCount; index++) {
+            if (cells.getConveyor(index) == MapCellList.NO_CONVEYOR) {
+                continue;
+            }
+            Position pos = new Position(index % cells.getSizeX(), index / cells.getSizeX());
+            Robot robot = new Robot(map, pos, "player");
+            robot.setCheckPoint(pos);
+            robots.add(robot);
+        }
+        belts = new Conveyor[robots.size()];
+        for (int i = 0; i < robots.size(); i++) {
+            belts[i] = Conveyor.extractConveyorFromCell(map, robots.get(i).getPos());
+        }
+    }
+
+    @Benchmark
+    public void conveyorDoAction() {
+        for (int i = 0; i < robots.size(); i++) {
+            Robot robot = robots.get(i);
+            belts[i].doAction(robot);
+            robot.backToCheckPoint();
+        }
+    }
+
+    @Benchmark
+    public void moveConveyors() {
+        map.moveConveyors();
+        for (int i = 0; i < robots.size(); i++) {
+            robots.get(i).backToCheckPoint();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package inf112.app.benchmark;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * The course a benchmark runs on. Every benchmark takes its course from here, so they all run on the same courses <br>
+ * The courses are not listed here, {@link BenchmarkRunner} gives JMH every course in assets/Maps,
+ * so a new course is benchmarked as soon as it is added
+ */
+@State(Scope.Thread)
+public class Course {
+    public static final String PARAM = "course";
+    private static final String FOLDER = "Maps";
+
+    //Only used when JMH is run without the runner, which sets every course from courses()
+    @Param("Maps/IslandHop")
+    public String course;
+
+    /**
+     * @return Name of the course as given to {@link inf112.app.map.Map#Map(String)}
+     */
+    public String getName() {
+        return course;
+    }
+
+    /**
+     * @return Path of the tmx file of the course
+     */
+    public String getPath() {
+        return "assets/" + course + ".tmx";
+    }
+
+    /**
+     * @return The courses shipped in assets/Maps, the test maps are left out
+     */
+    public static String[] courses() {
+        File[] files = new File("assets/" + FOLDER).listFiles((dir, name) -> name.endsWith(".tmx") && !name.startsWith("test"));
+        if (files == null || files.length == 0) {
+            throw new IllegalStateException("No courses in assets/" + FOLDER + ", run the benchmarks from the project folder");
+        }
+        ArrayList<String> names = new ArrayList<>();
+        for (File file : files) {
+            names.add(FOLDER + "/" + file.getName().substring(0, file.getName().length() - ".tmx".length()));
+        }
+        String[] sorted = names.toArray(new String[0]);
+        Arrays.sort(sorted);
+        return sorted;
+    }
+}
@@ -0,0 +1,55 @@
+package inf112.app.benchmark;
+
+import inf112.app.cards.CardDeck;
+import inf112.app.map.Map;
+import inf112.app.map.MapCellList;
+import inf112.app.map.Position;
+import inf112.app.objects.Robot;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * A game on one of the courses, with robots spread out on cells chosen from a fixed seed
+ * so every run measures the same setup
+ */
+@State(Scope.Thread)
+public class CourseState {
+    @Param({"2", "4", "8"})
+    public int robotCount;
+
+    public Map map;
+    public ArrayList<Robot> robots;
+
+    @Setup(Level.Trial)
+    public void setUp(Course course) {
+        map = new Map(course.getName());
+        map.setDeck(new CardDeck());
+        robots = placeRobots(map, robotCount, 42);
+    }
+
+    /**
+     * Places robots on free cells of the map
+     * @param map The map to place the robots on
+     * @param count How many robots to place
+     * @param seed Seed for choosing the cells
+     * @return The robots
+     */
+    public static ArrayList<Robot> placeRobots(Map map, int count, long seed) {
+        Random random = new Random(seed);
+        MapCellList cells = map.getCellList();
+        ArrayList<Robot> placed = new ArrayList<>();
+        while (placed.size() < count) {
+            Position pos = new Position(random.nextInt(cells.getSizeX()), random.nextInt(cells.getSizeY()));
+            if (map.robotInTile(pos) == null) {
+                placed.add(new Robot(map, pos, "player"));
+            }
+        }
+        return placed;
+    }
+}
@@ -0,0 +1,46 @@
+package inf112.app.benchmark;
+
+import inf112.app.cards.CardDeck;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collecting and shuffling the program cards
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DeckBenchmark {
+    private CardDeck deck;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        deck = new CardDeck(true);
+    }
+
+    @Benchmark
+    public CardDeck reset() {
+        deck.reset();
+        return deck;
+    }
+
+    @Benchmark
+    public CardDeck shuffle() {
+        deck.shuffle();
+        return deck;
+    }
+}
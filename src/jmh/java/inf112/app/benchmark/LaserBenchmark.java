@@ -0,0 +1,43 @@
+package inf112.app.benchmark;
+
+import inf112.app.map.Map;
+import inf112.app.objects.LaserBeam;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A full volley from every wall and robot laser on the course
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LaserBenchmark {
+
+    @Benchmark
+    public ArrayList<LaserBeam> fireLasers(CourseState state) {
+        Map map = state.map;
+        map.fireLasers();
+        //Keep the robots alive so the volley stays the same
+        for (int i = 0; i < state.robots.size(); i++) {
+            state.robots.get(i).removeDamageTokens(10);
+        }
+        return map.getLaserBeams();
+    }
+
+    @Benchmark
+    public void fireSingleLaser(CourseState state) {
+        state.robots.get(0).fireLaser();
+        state.map.getLaserBeams().clear();
+        state.robots.get(1).removeDamageTokens(10);
+    }
+}
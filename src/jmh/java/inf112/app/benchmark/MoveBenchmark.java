@@ -0,0 +1,106 @@
+package inf112.app.benchmark;
+
+import inf112.app.map.Direction;
+import inf112.app.map.Direction.DirEnum;
+import inf112.app.map.Map;
+import inf112.app.map.MapCellList;
+import inf112.app.map.Position;
+import inf112.app.objects.Robot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves checked against walls, and robots pushing each other
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MoveBenchmark {
+    @Param({"2", "4", "8"})
+    public int robotCount;
+
+    private Map map;
+    private Position[] moves;
+    private ArrayList<Robot> chain;
+    private DirEnum pushDirection;
+
+    @Setup(Level.Trial)
+    public void setUp(Course course) {
+        map = new Map(course.getName());
+        MapCellList cells = map.getCellList();
+        ArrayList<Position> all = new ArrayList<>();
+        for (int x = 0; x < cells.getSizeX(); x++) {
+            for (int y = 0; y < cells.getSizeY(); y++) {
+                for (DirEnum dir : DirEnum.values()) {
+                    all.add(new Position(x, y, new Direction(dir)));
+                }
+            }
+        }
+        moves = all.toArray(new Position[0]);
+        chain = placeChain(cells, course.getName());
+        pushDirection = DirEnum.EAST;
+    }
+
+    /**
+     * Lines the robots up on the first row with room for the chain to be pushed back and forth
+     */
+    private ArrayList<Robot> placeChain(MapCellList cells, String course) {
+        int length = robotCount + 2;
+        for (int y = 0; y < cells.getSizeY(); y++) {
+            for (int x = 0; x + length <= cells.getSizeX(); x++) {
+                if (isOpenRun(cells, x, y, length)) {
+                    ArrayList<Robot> robots = new ArrayList<>();
+                    for (int i = 1; i <= robotCount; i++) {
+                        robots.add(new Robot(map, new Position(x + i, y), "player"));
+                    }
+                    return robots;
+                }
+            }
+        }
+        throw new IllegalStateException("No room for a chain of " + robotCount + " robots on " + course);
+    }
+
+    private boolean isOpenRun(MapCellList cells, int x, int y, int length) {
+        for (int i = 0; i < length - 1; i++) {
+            if (cells.isBlocked(cells.index(x + i, y), DirEnum.EAST)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Benchmark
+    public void validMove(Blackhole blackhole) {
+        for (Position move : moves) {
+            blackhole.consume(map.validMove(move));
+        }
+    }
+
+    /**
+     * The robot at the back pushes the whole chain one step, then the other end pushes it back
+     */
+    @Benchmark
+    public boolean pushChain() {
+        Robot pusher = pushDirection == DirEnum.EAST ? chain.get(0) : chain.get(chain.size() - 1);
+        boolean moved = pusher.moveAndPush(pusher, new Direction(pushDirection));
+        pushDirection = pushDirection.opposite();
+        return moved;
+    }
+}
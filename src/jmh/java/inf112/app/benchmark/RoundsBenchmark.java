@@ -0,0 +1,62 @@
+package inf112.app.benchmark;
+
+import inf112.app.cards.CardSlot;
+import inf112.app.game.Rounds;
+import inf112.app.objects.Robot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A whole round, from dealing the cards to the fifth register
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoundsBenchmark {
+
+    @State(Scope.Thread)
+    public static class RoundState {
+        public Rounds rounds;
+
+        @Setup(Level.Trial)
+        public void setUp(CourseState course) {
+            rounds = new Rounds(course.map);
+        }
+    }
+
+    @Benchmark
+    public void round(CourseState course, RoundState state) {
+        Rounds rounds = state.rounds;
+        rounds.putBackPlayers();
+        rounds.dealCards();
+        for (Robot robot : course.robots) {
+            CardSlot[] available = robot.getAvailableCards();
+            for (int i = 0; i < 5; i++) {
+                if (available[i].hasCard()) {
+                    robot.setProgrammedCard(i, available[i].removeCard());
+                }
+            }
+        }
+        for (int phase = 1; phase <= 5; phase++) {
+            rounds.doPhase(phase);
+        }
+        course.map.deactivateLasers();
+        //Keep the robots alive so every round does the same amount of work
+        for (Robot robot : course.robots) {
+            robot.removeDamageTokens(10);
+        }
+    }
+}
@@ -1,52 +1,36 @@
 package inf112.app.cards;
 
-import com.badlogic.gdx.graphics.Texture;
 import inf112.app.map.Direction;
+import inf112.app.map.GameRandom;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Stack;
+import java.util.Random;
 
 /**
  *
- * This class creates and holds an entire deck of cards.
+ * This class creates and holds an entire deck of cards. <br>
+ * The cards themselves are made once and shared by all the decks, since they never change.
+ * A deck is only the order of the card ids, so resetting, shuffling and dealing don't create any objects.
  */
 public class CardDeck {
-    private Stack<ICard> deck;
-    private Texture[] textures;
-
-    public CardDeck(){
-        loadCardTextures();
-        reset();
-        shuffle();
-    }
-
+    public static final int SIZE = 84;
     /**
-     * Constructor used by automated tests
-     * should never be used by actual game
-     * @param testing extra parameter for distinguishing the constructors
-     *                can be true or false
+     * Number of ints {@link #writeState(int[], int)} uses, the ids are packed four to an int
      */
-    public CardDeck(boolean testing){
-        textures = new Texture[7];
-        for(int i = 0; i<7; i++){
-            textures[i] = null;
-        }
-        reset();
+    public static final int STATE_SIZE = SIZE / 4 + 3;
 
-    }
+    // Every card in the game, indexed by card id
+    private static final ICard[] CARDS = new ICard[SIZE];
+    // Card id for every priority, indexed by priority / 10
+    private static final int[] ID_BY_POINT = new int[90];
 
-    /**
-     *
-     * Resets the deck and 'unshuffles' them
-     */
-    public void reset() {
-        deck = new Stack<>();
+    static {
+        int id = 0;
 
         //MOVE_ONE Cards:
         int point = 520;
         for (int i = 1; i <= 18; i++) {
-            deck.add(new MoveCard(point,1, textures[0]));
+            CARDS[id++] = new MoveCard(point,1);
             point = point + 10;
 
         }
@@ -54,7 +38,7 @@ public class CardDeck {
         //MOVE_TWO Cards:
         point = 710;
         for (int i = 1; i <= 12; i++) {
-            deck.add(new MoveCard(point,2, textures[1]));
+            CARDS[id++] = new MoveCard(point,2);
             point = point + 10;
 
         }
@@ -62,7 +46,7 @@ public class CardDeck {
         //MOVE_THREE Cards
         point = 840;
         for (int i = 1; i <= 6; i++) {
-            deck.add(new MoveCard(point, 3, textures[2]));
+            CARDS[id++] = new MoveCard(point, 3);
             point = point + 10;
 
         }
@@ -70,7 +54,7 @@ public class CardDeck {
         //BACKUP Cards
         point = 450;
         for (int i = 1; i <= 6; i++) {
-            deck.add(new MoveCard(point, true, textures[6]));
+            CARDS[id++] = new MoveCard(point, true);
             point = point + 10;
 
         }
@@ -78,7 +62,7 @@ public class CardDeck {
         //ROTATE_LEFT Cards
         point = 80;
         for (int i = 1; i <= 18; i++) {
-            deck.add(new RotateCard(point, Direction.Rotation.LEFT, textures[3]));
+            CARDS[id++] = new RotateCard(point, Direction.Rotation.LEFT);
             point = point + 20;
 
         }
@@ -86,25 +70,79 @@ public class CardDeck {
         //ROTATE_RIGHT Cards
         point = 70;
         for (int i = 1; i <= 18; i++) {
-            deck.add(new RotateCard(point, Direction.Rotation.RIGHT, textures[4]));
+            CARDS[id++] = new RotateCard(point, Direction.Rotation.RIGHT);
             point = point + 20;
         }
 
         //U_TURN Cards
         point = 10;
         for (int i = 1; i <= 6; i++) {
-            deck.add(new RotateCard(point, true, textures[5]));
+            CARDS[id++] = new RotateCard(point, true);
             point = point + 10;
         }
+
+        for (int i = 0; i < SIZE; i++) {
+            ID_BY_POINT[CARDS[i].getPoint() / 10] = i;
+        }
+    }
+
+    // Card ids, the cards left in the deck are the first ones and are dealt from the back
+    private int[] order;
+    private int remaining;
+    private GameRandom random;
+
+    public CardDeck(){
+        this(new GameRandom());
+    }
+
+    /**
+     * Creates a shuffled deck
+     * @param random Used for all the shuffles, a seeded generator gives the same order every time.
+     *               A {@link GameRandom} is used as it is, so it is saved with the deck, other generators only seed one
+     */
+    public CardDeck(Random random){
+        this.random = random instanceof GameRandom ? (GameRandom) random : new GameRandom(random.nextLong());
+        order = new int[SIZE];
+        reset();
+        shuffle();
+    }
+
+    /**
+     * Constructor used by automated tests
+     * should never be used by actual game
+     * @param testing extra parameter for distinguishing the constructors
+     *                can be true or false
+     */
+    public CardDeck(boolean testing){
+        random = new GameRandom();
+        order = new int[SIZE];
+        reset();
+    }
+
+    /**
+     *
+     * Resets the deck and 'unshuffles' them
+     */
+    public void reset() {
+        for (int i = 0; i < SIZE; i++) {
+            order[i] = i;
+        }
+        remaining = SIZE;
     }
 
     /**
      *
-     * Shuffles the deck, use this before getting cards
+     * Shuffles the cards left in the deck, use this before getting cards
      */
 
     public void shuffle() {
-        Collections.shuffle(deck);
+        //Fisher-Yates, in place
+        for (int i = remaining - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
     }
 
     /**
@@ -112,7 +150,10 @@ public class CardDeck {
      * @param card A single card that is to be added back to the deck
      */
     public void addCard(ICard card){
-        deck.push(card);
+        if (remaining == SIZE) {
+            throw new IllegalArgumentException("All the cards are already in the deck");
+        }
+        order[remaining++] = getId(card);
     }
 
 
@@ -125,29 +166,81 @@ public class CardDeck {
     public ArrayList<ICard> getCards(int amount) {
         ArrayList<ICard> playerDeck = new ArrayList<>();
         for (int i = 0; i < amount; i ++) {
-            playerDeck.add(deck.pop());
+            playerDeck.add(getCard());
         }
         return playerDeck;
     }
 
     public ICard getCard(){
-        if(deck.isEmpty()){
+        int id = dealId();
+        return id == -1 ? null : CARDS[id];
+    }
+
+    /**
+     * Deals the next card as its id, see {@link #getCard(int)}
+     * @return The id of the card, -1 if the deck is empty
+     */
+    public int dealId(){
+        if(remaining == 0){
             System.out.println("Deck is empty");
-            return null;
+            return -1;
         }
-        return deck.pop();
+        return order[--remaining];
     }
 
     public boolean isEmpty(){
-        return deck.isEmpty();
+        return remaining == 0;
     }
 
-    private void loadCardTextures(){
-        textures = new Texture[7];
-        String[] cardNames = new String[]{"move_1","move_2","move_3","rotate_left","rotate_right","u-turn","back_up"};
-        for(int i = 0; i<7; i++){
-            String path = "assets/Card/" + cardNames[i] + ".png";
-            textures[i] = new Texture(path);
+    /**
+     * Writes the order of the cards, how many are left and the state of the generator used for shuffling
+     * @param state Where to write, {@link #STATE_SIZE} ints from the offset
+     * @param offset First int to write
+     * @return The offset after the state of the deck
+     */
+    public int writeState(int[] state, int offset){
+        for(int i = 0; i < SIZE; i += 4){
+            state[offset++] = order[i] | order[i + 1] << 8 | order[i + 2] << 16 | order[i + 3] << 24;
+        }
+        state[offset] = remaining;
+        long seed = random.getState();
+        state[offset + 1] = (int) (seed >>> 32);
+        state[offset + 2] = (int) seed;
+        return offset + 3;
+    }
+
+    /**
+     * Puts the deck back in a state written by {@link #writeState(int[], int)}, it deals and shuffles the same cards again
+     * @param state Where to read
+     * @param offset First int to read
+     * @return The offset after the state of the deck
+     */
+    public int readState(int[] state, int offset){
+        for(int i = 0; i < SIZE; i += 4){
+            int packed = state[offset++];
+            order[i] = packed & 0xFF;
+            order[i + 1] = packed >>> 8 & 0xFF;
+            order[i + 2] = packed >>> 16 & 0xFF;
+            order[i + 3] = packed >>> 24;
         }
+        remaining = state[offset];
+        random.setState((long) state[offset + 1] << 32 | state[offset + 2] & 0xFFFFFFFFL);
+        return offset + 3;
+    }
+
+    /**
+     * @param id Id of the card
+     * @return The card, shared by all the decks
+     */
+    public static ICard getCard(int id){
+        return CARDS[id];
+    }
+
+    /**
+     * @param card A card from the deck
+     * @return The id of the card, the priorities are unique so they identify the card
+     */
+    public static int getId(ICard card){
+        return ID_BY_POINT[card.getPoint() / 10];
     }
-}
\ No newline at end of file
+}
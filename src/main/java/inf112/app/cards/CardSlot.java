@@ -1,41 +1,33 @@
 package inf112.app.cards;
 
-import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
-import inf112.app.game.CardUI;
-
+/**
+ * A slot holding a single card, either a register or one of the dealt cards. <br>
+ * Slots shown on screen are {@link inf112.app.game.UICardSlot}s
+ */
 public class CardSlot {
     private ICard card;
     private String position;
     private int xCoord;
     private int yCoord;
-    private TiledMapTileLayer cardLayer;
     private boolean isLocked;
-    private boolean noUI;
 
     public CardSlot(int x, int y, String position){
         card = null;
         xCoord = x;
         yCoord = y;
-        CardUI cardUI = CardUI.getInstance();
-        cardLayer = (TiledMapTileLayer) cardUI.getTiles().getLayers().get("Cards");
         this.position = position;
         this.isLocked = false;
-        noUI = false;
     }
 
     public CardSlot(String position){
         card = null;
         this.position = position;
         this.isLocked = false;
-        noUI = true;
     }
 
     public boolean addCard(ICard newCard){
         if(card == null){
             this.card = newCard;
-            if(!noUI) {
-                cardLayer.setCell(xCoord, yCoord, card.getCardTile());
-            }
             return true;
         }
         return false;
@@ -46,9 +38,9 @@ public class CardSlot {
             System.out.println("No card to remove in the slot");
             return null;
         } else {
-            ICard value = card.copyOf();
+            //The cards never change, so they don't need to be copied
+            ICard value = card;
             card = null;
-            cardLayer.setCell(xCoord,yCoord,null);
             return value;
         }
     }
@@ -1,6 +1,5 @@
 package inf112.app.cards;
 
-import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
 import inf112.app.objects.Robot;
 
 public interface ICard {
@@ -9,8 +8,6 @@ public interface ICard {
 
     ICard copyOf();
 
-    TiledMapTileLayer.Cell getCardTile();
-
     int getPoint();
 
 }
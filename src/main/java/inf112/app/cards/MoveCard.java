@@ -1,6 +1,5 @@
 package inf112.app.cards;
 
-import com.badlogic.gdx.graphics.Texture;
 import inf112.app.map.Direction;
 import inf112.app.objects.Robot;
 
@@ -17,8 +16,8 @@ public class MoveCard extends CardStatus  {
      * @param points
      * @param steps
      */
-    public MoveCard(int points, int steps, Texture texture){
-        super(points,texture);
+    public MoveCard(int points, int steps){
+        super(points);
         this.steps = steps;
         this.backUp = false;
 
@@ -29,8 +28,8 @@ public class MoveCard extends CardStatus  {
      * @param points
      * @param backUp
      */
-    public MoveCard(int points, boolean backUp, Texture texture) {
-        super(points, texture);
+    public MoveCard(int points, boolean backUp) {
+        super(points);
         this.backUp = backUp;
         this.steps = 1;
     }
@@ -55,9 +54,9 @@ public class MoveCard extends CardStatus  {
     @Override
     public ICard copyOf() {
         if(!this.backUp) {
-            return new MoveCard(this.getPoint(), this.steps, this.getTexture());
+            return new MoveCard(this.getPoint(), this.steps);
         } else {
-            return new MoveCard(this.getPoint(), this.backUp, this.getTexture());
+            return new MoveCard(this.getPoint(), this.backUp);
         }
     }
 
@@ -1,6 +1,5 @@
 package inf112.app.cards;
 
-import com.badlogic.gdx.graphics.Texture;
 import inf112.app.map.Direction.Rotation;
 import inf112.app.objects.Robot;
 
@@ -16,8 +15,8 @@ public class RotateCard extends CardStatus {
      * @param points
      * @param r
      */
-    public RotateCard(int points, Rotation r, Texture texture){
-        super(points, texture);
+    public RotateCard(int points, Rotation r){
+        super(points);
         this.rotation = r;
         this.uTurn = false;
     }
@@ -27,8 +26,8 @@ public class RotateCard extends CardStatus {
      * @param points
      * @param uTurn
      */
-    public RotateCard(int points, boolean uTurn, Texture texture){
-        super(points, texture);
+    public RotateCard(int points, boolean uTurn){
+        super(points);
         this.uTurn = uTurn;
         rotation = Rotation.RIGHT;
     }
@@ -51,9 +50,9 @@ public class RotateCard extends CardStatus {
     @Override
     public ICard copyOf() {
         if(!uTurn){
-            return new RotateCard(this.getPoint(), this.rotation, this.getTexture());
+            return new RotateCard(this.getPoint(), this.rotation);
         } else {
-            return new RotateCard(this.getPoint(), this.uTurn, this.getTexture());
+            return new RotateCard(this.getPoint(), this.uTurn);
         }
     }
 
@@ -34,9 +34,9 @@ public class CardSlotActor extends ButtonActor {
         String cardPos = slot.getPosition();
         CardSlot newSlot = null;
         if("bottom".equals(cardPos)){
-            newSlot = CardUI.getInstance().findAvailableSlot("side");
+            newSlot = stage.getCardUI().findAvailableSlot("side");
         } else if("side".equals(cardPos)){
-            newSlot = CardUI.getInstance().findAvailableSlot("bottom");
+            newSlot = stage.getCardUI().findAvailableSlot("bottom");
         }
         if(newSlot==null){
             System.out.println("All card slots are occupied");
@@ -0,0 +1,244 @@
+package inf112.app.game;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.PixmapIO;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.tiles.StaticTiledMapTile;
+import com.badlogic.gdx.utils.BufferUtils;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ScreenUtils;
+import inf112.app.cards.CardDeck;
+import inf112.app.cards.ICard;
+import inf112.app.cards.MoveCard;
+import inf112.app.cards.RotateCard;
+import inf112.app.map.Direction.Rotation;
+
+import java.util.zip.CRC32;
+
+/**
+ * Makes the graphics for the cards, kept apart from the cards
+ * themselves so the deck can be used without a GL context. <br>
+ * Every card face, with its priority points printed on it, is baked once into a few atlas pages.
+ * The pages are saved as png files in a cache folder, so later launches only load them.
+ * The cache is named after a checksum of the card textures, so changed textures are baked again.
+ */
+public class CardTiles {
+    public static final int CARD_WIDTH = 400;
+    public static final int CARD_HEIGHT = 600;
+    //A page of 10 x 5 cards is 4000 x 3000 pixels, which fits in a texture on any desktop GPU
+    public static final int COLUMNS = 10;
+    public static final int ROWS = 5;
+    public static final int CARDS_PER_PAGE = COLUMNS * ROWS;
+    //Change when the layout of the cards changes, so old caches are not used
+    private static final int VERSION = 1;
+    private static final String[] CARD_NAMES = new String[]{"move_1","move_2","move_3","rotate_left","rotate_right","u-turn","back_up"};
+
+    private FileHandle cacheFolder;
+    private Texture[] pages;
+    private TiledMapTileLayer.Cell[] tiles;
+
+    /**
+     * Uses the cache folder next to where the game is started
+     */
+    public CardTiles(){
+        this(Gdx.files.local("cache/cards"));
+    }
+
+    /**
+     * @param cacheFolder Folder the baked atlas pages are kept in
+     */
+    public CardTiles(FileHandle cacheFolder){
+        this.cacheFolder = cacheFolder;
+        pages = new Texture[pageCount()];
+        tiles = new TiledMapTileLayer.Cell[CardDeck.SIZE];
+        loadPages();
+        for(int id = 0; id < CardDeck.SIZE; id++){
+            TextureRegion region = new TextureRegion(pages[page(id)],
+                    column(id) * CARD_WIDTH, row(id) * CARD_HEIGHT, CARD_WIDTH, CARD_HEIGHT);
+            tiles[id] = new TiledMapTileLayer.Cell().setTile(new StaticTiledMapTile(region));
+        }
+    }
+
+    /**
+     * @param card The card to get the graphics for
+     * @return Cell with the card texture and the priority points printed on it
+     */
+    public TiledMapTileLayer.Cell getTile(ICard card){
+        return tiles[CardDeck.getId(card)];
+    }
+
+    /**
+     * @return How many atlas pages are needed for the whole deck
+     */
+    public static int pageCount(){
+        return (CardDeck.SIZE + CARDS_PER_PAGE - 1) / CARDS_PER_PAGE;
+    }
+
+    /**
+     * @param id Id of the card in the deck
+     * @return The atlas page the card is on
+     */
+    public static int page(int id){
+        return id / CARDS_PER_PAGE;
+    }
+
+    /**
+     * @param id Id of the card in the deck
+     * @return Column of the card on its page
+     */
+    public static int column(int id){
+        return (id % CARDS_PER_PAGE) % COLUMNS;
+    }
+
+    /**
+     * @param id Id of the card in the deck
+     * @return Row of the card on its page, counted from the top
+     */
+    public static int row(int id){
+        return (id % CARDS_PER_PAGE) / COLUMNS;
+    }
+
+    /**
+     * The last page only gets the rows it needs
+     * @param page The atlas page
+     * @return Height of the page in pixels
+     */
+    public static int pageHeight(int page){
+        int cards = Math.min(CARDS_PER_PAGE, CardDeck.SIZE - page * CARDS_PER_PAGE);
+        return ((cards + COLUMNS - 1) / COLUMNS) * CARD_HEIGHT;
+    }
+
+    /**
+     * Loads the pages from the cache, bakes them if any of them is missing
+     */
+    private void loadPages(){
+        String prefix = "cards-" + Long.toHexString(checksum()) + "-";
+        FileHandle[] files = new FileHandle[pages.length];
+        boolean cached = true;
+        for(int p = 0; p < pages.length; p++){
+            files[p] = cacheFolder.child(prefix + p + ".png");
+            cached &= files[p].exists();
+        }
+        if(cached){
+            for(int p = 0; p < pages.length; p++){
+                pages[p] = new Texture(files[p]);
+            }
+        } else {
+            bakePages(files);
+        }
+    }
+
+    /**
+     * @return Checksum of the card textures and the layout version
+     */
+    private long checksum(){
+        CRC32 crc = new CRC32();
+        crc.update(VERSION);
+        for(String name : CARD_NAMES){
+            crc.update(Gdx.files.internal(cardPath(name)).readBytes());
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * Draws every card with its priority points onto the atlas pages,
+     * using one batch, one font and one frame buffer per page.
+     * The textures of the single cards are only loaded while baking.
+     * @param files Where to save each page
+     */
+    private void bakePages(FileHandle[] files){
+        Texture[] textures = new Texture[CARD_NAMES.length];
+        for(int i = 0; i < textures.length; i++){
+            textures[i] = new Texture(cardPath(CARD_NAMES[i]));
+        }
+        SpriteBatch spriteBatch = new SpriteBatch();
+        BitmapFont font = new BitmapFont();
+        font.setColor(Color.GREEN);
+        //change font size
+        font.getData().setScale(3.3f);
+
+        for(int p = 0; p < pages.length; p++){
+            int width = COLUMNS * CARD_WIDTH;
+            int height = pageHeight(p);
+            FrameBuffer frameBuffer = new FrameBuffer(Pixmap.Format.RGBA8888, width, height, false);
+            frameBuffer.begin();
+            Gdx.gl.glClearColor(0f,0f,0f,0f);
+            Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+
+            spriteBatch.getProjectionMatrix().setToOrtho2D(0, 0, width, height);
+            spriteBatch.begin();
+            int first = p * CARDS_PER_PAGE;
+            int last = Math.min(first + CARDS_PER_PAGE, CardDeck.SIZE);
+            for(int id = first; id < last; id++){
+                ICard card = CardDeck.getCard(id);
+                //The frame buffer counts rows from the bottom, the saved page from the top
+                float x = column(id) * CARD_WIDTH;
+                float y = height - (row(id) + 1) * CARD_HEIGHT;
+                spriteBatch.draw(textures[textureIndex(card)], x, y);
+                //draw priority points on texture
+                font.draw(spriteBatch, String.valueOf(card.getPoint()), x + 252.5f, y + 545);
+            }
+            spriteBatch.end();
+
+            byte[] pixels = ScreenUtils.getFrameBufferPixels(0, 0, width, height, true);
+            frameBuffer.end();
+            frameBuffer.dispose();
+
+            Pixmap pixmap = new Pixmap(width, height, Pixmap.Format.RGBA8888);
+            BufferUtils.copy(pixels, 0, pixmap.getPixels(), pixels.length);
+            try {
+                PixmapIO.writePNG(files[p], pixmap);
+            } catch (GdxRuntimeException e){
+                //The cards still work, they are just baked again next time
+                System.out.println("Could not save card atlas: " + e.getMessage());
+            }
+            pages[p] = new Texture(pixmap);
+            pixmap.dispose();
+        }
+
+        font.dispose();
+        spriteBatch.dispose();
+        for(Texture texture : textures){
+            texture.dispose();
+        }
+    }
+
+    /**
+     * Finds which of the card textures belongs to the card
+     * @param card The card to find the texture for
+     * @return Index in the card names array
+     */
+    private int textureIndex(ICard card){
+        if(card instanceof MoveCard){
+            MoveCard moveCard = (MoveCard) card;
+            return moveCard.isBackUp() ? 6 : moveCard.getSteps() - 1;
+        }
+        RotateCard rotateCard = (RotateCard) card;
+        if(rotateCard.isUTurn()){
+            return 5;
+        }
+        return rotateCard.getRotation() == Rotation.LEFT ? 3 : 4;
+    }
+
+    private String cardPath(String name){
+        return "assets/Card/" + name + ".png";
+    }
+
+    /**
+     * Frees the atlas pages, the tiles can't be drawn after this
+     */
+    public void dispose(){
+        for(Texture page : pages){
+            page.dispose();
+        }
+    }
+}
@@ -5,13 +5,16 @@ import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
 import com.badlogic.gdx.maps.tiled.TmxMapLoader;
 import inf112.app.cards.CardSlot;
 import inf112.app.cards.ICard;
-import inf112.app.map.Map;
 
 
+/**
+ * The card interface around the board, created by the game screen
+ */
 public class CardUI {
     private TiledMap cardUI;
+    private TiledMap gameButtons;
     private TiledMapTileLayer damageTokens;
-    private static CardUI instance;
+    private CardTiles cardTiles;
 
     private CardSlot[] bottomCardSlots;
     private CardSlot[] sideCardSlots;
@@ -21,22 +24,24 @@ public class CardUI {
     private TiledMapTileLayer cardUIButtonLayer;
 
 
-    private CardUI(){
+    /**
+     * @param gameButtons The TiledMap holding the button and damage token sprites
+     */
+    public CardUI(TiledMap gameButtons){
         TmxMapLoader loader = new TmxMapLoader();
         cardUI = loader.load("assets/CardUI2.tmx");
-        damageTokens = (TiledMapTileLayer) Map.getInstance().getGameButtons().getLayers().get("Tokens");
+        this.gameButtons = gameButtons;
+        damageTokens = (TiledMapTileLayer) gameButtons.getLayers().get("Tokens");
         cardUIButtonLayer = (TiledMapTileLayer) cardUI.getLayers().get("Buttons");
+        cardTiles = new CardTiles();
     }
 
     public TiledMap getTiles() {
         return cardUI;
     }
 
-    public static CardUI getInstance(){
-        if(instance == null){
-            instance = new CardUI();
-        }
-        return instance;
+    public TiledMap getGameButtons() {
+        return gameButtons;
     }
 
     public void initializeCardSlots(Player player){
@@ -44,16 +49,17 @@ public class CardUI {
         bottomCardSlots = player.getCharacter().getProgrammedCards();
         sideCardSlots = player.getCharacter().getAvailableCards();
         lookupSlots = new CardSlot[8][6];
+        TiledMapTileLayer cardLayer = (TiledMapTileLayer) cardUI.getLayers().get("Cards");
 
         for(int i = 0; i<5; i++){
-            CardSlot newSlot = new CardSlot(i,0,"bottom");
+            CardSlot newSlot = new UICardSlot(i,0,"bottom",cardLayer,cardTiles);
             bottomCardSlots[i] = newSlot;
             lookupSlots[i][0] = newSlot;
         }
         for(int i = 9; i>0; i--){
             int x = 6+(i%2);
             int y = (i/2)+1;
-            CardSlot newSlot = new CardSlot(x,y,"side");
+            CardSlot newSlot = new UICardSlot(x,y,"side",cardLayer,cardTiles);
             sideCardSlots[i-1] = newSlot;
             lookupSlots[x][y] = newSlot;
         }
@@ -115,4 +121,21 @@ public class CardUI {
         }
         return null;
     }
+
+    /**
+     * Shows the cards held by the slots of the player, call it on the render thread
+     * whenever the player's robot isn't being played by the {@link Simulation}
+     */
+    public void updateCards(){
+        for(CardSlot slot : bottomCardSlots){
+            ((UICardSlot) slot).updateCell();
+        }
+        for(CardSlot slot : sideCardSlots){
+            ((UICardSlot) slot).updateCell();
+        }
+    }
+
+    public void dispose(){
+        cardTiles.dispose();
+    }
 }
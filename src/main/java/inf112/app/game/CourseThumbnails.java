@@ -0,0 +1,153 @@
+package inf112.app.game;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.PixmapIO;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.renderers.OrthogonalTiledMapRenderer;
+import com.badlogic.gdx.utils.BufferUtils;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ScreenUtils;
+import inf112.app.util.Course;
+import inf112.app.util.CourseLibrary;
+
+import java.util.HashMap;
+import java.util.zip.CRC32;
+
+/**
+ * Small pictures of the courses for the course selector. <br>
+ * A thumbnail is drawn offscreen once from the map of the course, and saved as a png file
+ * named after a checksum of the .tmx file. Later the thumbnail is loaded from the file,
+ * so the map of the course is only loaded if the course changed or was never shown.
+ */
+public class CourseThumbnails {
+    //Same scale the course selector used to draw the whole map with
+    public static final float SCALE = 1/9f;
+    public static final int TILE_SIZE = 300;
+
+    private CourseLibrary courses;
+    private FileHandle cacheFolder;
+    private HashMap<String, Texture> thumbnails;
+    private HashMap<String, FileHandle> files;
+    private OrthogonalTiledMapRenderer renderer;
+
+    /**
+     * Uses the cache folder next to where the game is started
+     * @param courses The courses to make thumbnails for
+     */
+    public CourseThumbnails(CourseLibrary courses){
+        this(courses, Gdx.files.local("cache/thumbnails"));
+    }
+
+    /**
+     * @param courses The courses to make thumbnails for
+     * @param cacheFolder Folder the thumbnails are saved in
+     */
+    public CourseThumbnails(CourseLibrary courses, FileHandle cacheFolder){
+        this.courses = courses;
+        this.cacheFolder = cacheFolder;
+        thumbnails = new HashMap<>();
+        files = new HashMap<>();
+    }
+
+    /**
+     * Finds the thumbnail of the course. If it isn't saved yet, the map of the course is requested,
+     * and the thumbnail is drawn when the map has finished loading
+     * @param course The course to get the thumbnail for
+     * @return The thumbnail, null while the map is still loading
+     */
+    public Texture get(Course course){
+        Texture thumbnail = thumbnails.get(course.getPath());
+        if(thumbnail != null){
+            return thumbnail;
+        }
+        FileHandle file = thumbnailFile(course);
+        if(file.exists()){
+            thumbnail = new Texture(file);
+        } else {
+            TiledMap map = courses.getMap(course);
+            if(map == null){
+                courses.request(course);
+                return null;
+            }
+            thumbnail = draw(course, map, file);
+        }
+        thumbnails.put(course.getPath(), thumbnail);
+        return thumbnail;
+    }
+
+    /**
+     * @param course The course
+     * @return The file the thumbnail of the course is saved in
+     */
+    private FileHandle thumbnailFile(Course course){
+        FileHandle file = files.get(course.getPath());
+        if(file == null){
+            CRC32 crc = new CRC32();
+            crc.update(Gdx.files.internal(course.getPath()).readBytes());
+            file = cacheFolder.child(course.getName() + "-" + Long.toHexString(crc.getValue()) + ".png");
+            files.put(course.getPath(), file);
+        }
+        return file;
+    }
+
+    /**
+     * Draws the map into a frame buffer, and saves the result
+     * @param course The course of the map
+     * @param map The map to draw
+     * @param file Where to save the thumbnail
+     * @return The thumbnail
+     */
+    private Texture draw(Course course, TiledMap map, FileHandle file){
+        int width = Math.round(course.getWidth() * TILE_SIZE * SCALE);
+        int height = Math.round(course.getHeight() * TILE_SIZE * SCALE);
+        if(renderer == null){
+            renderer = new OrthogonalTiledMapRenderer(map, SCALE);
+        } else {
+            renderer.setMap(map);
+        }
+        OrthographicCamera camera = new OrthographicCamera();
+        camera.setToOrtho(false, width, height);
+        renderer.setView(camera);
+
+        FrameBuffer frameBuffer = new FrameBuffer(Pixmap.Format.RGBA8888, width, height, false);
+        frameBuffer.begin();
+        Gdx.gl.glClearColor(0f,0f,0f,0f);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+        renderer.render();
+        byte[] pixels = ScreenUtils.getFrameBufferPixels(0, 0, width, height, true);
+        frameBuffer.end();
+        frameBuffer.dispose();
+
+        Pixmap pixmap = new Pixmap(width, height, Pixmap.Format.RGBA8888);
+        BufferUtils.copy(pixels, 0, pixmap.getPixels(), pixels.length);
+        try {
+            PixmapIO.writePNG(file, pixmap);
+        } catch (GdxRuntimeException e){
+            //The thumbnail is drawn again the next time the game is started
+            System.out.println("Could not save thumbnail: " + e.getMessage());
+        }
+        Texture thumbnail = new Texture(pixmap);
+        pixmap.dispose();
+        return thumbnail;
+    }
+
+    /**
+     * Frees the thumbnails, they are loaded again from the cache when needed
+     */
+    public void dispose(){
+        for(Texture thumbnail : thumbnails.values()){
+            thumbnail.dispose();
+        }
+        thumbnails.clear();
+        if(renderer != null){
+            renderer.dispose();
+            renderer = null;
+        }
+    }
+}
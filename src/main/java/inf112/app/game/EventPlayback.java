@@ -0,0 +1,74 @@
+package inf112.app.game;
+
+import java.util.ArrayDeque;
+import java.util.function.Consumer;
+
+/**
+ * Shows the rounds a {@link Simulation} plays, one phase at a time. <br>
+ * Drive it with a {@link PhaseScheduler} on the render thread: every step hands the events
+ * of one phase to the listener, and a step is only ready once the simulation has published
+ * all of its events. So the simulation can run ahead, while the phases are still shown at the pace of the scheduler.
+ */
+public class EventPlayback implements RoundSteps {
+    private final EventQueue events;
+    private final Consumer<GameEvent> listener;
+    //Events taken from the queue that belong to steps that aren't shown yet
+    private final ArrayDeque<GameEvent> pending = new ArrayDeque<>();
+    //The last step all events have been taken from the queue for
+    private int published;
+
+    /**
+     * @param events The queue the simulation publishes to
+     * @param listener Shows the events, called on the thread running the scheduler
+     */
+    public EventPlayback(EventQueue events, Consumer<GameEvent> listener){
+        this.events = events;
+        this.listener = listener;
+    }
+
+    /**
+     * The simulation puts the robots back itself, the events of that are shown with the first phase
+     */
+    @Override
+    public void putBackPlayers(){
+        published = 0;
+    }
+
+    @Override
+    public void doPhase(int phaseNum){
+        show(GameEvent.Type.PHASE_DONE);
+    }
+
+    @Override
+    public void dealCards(){
+        show(GameEvent.Type.ROUND_DONE);
+    }
+
+    @Override
+    public boolean isReady(int phaseNum){
+        GameEvent event;
+        while(published < phaseNum && (event = events.poll()) != null){
+            pending.add(event);
+            if(event.getType() == GameEvent.Type.PHASE_DONE){
+                published = event.getValue();
+            } else if(event.getType() == GameEvent.Type.ROUND_DONE){
+                published = PhaseScheduler.PHASES + 1;
+            }
+        }
+        return published >= phaseNum;
+    }
+
+    /**
+     * Hands the pending events to the listener, up to and including the first event of the given type
+     * @param end Type of the event ending the step
+     */
+    private void show(GameEvent.Type end){
+        while(!pending.isEmpty()){
+            GameEvent event = pending.poll();
+            listener.accept(event);
+            if(event.getType() == end){
+                return;
+            }
+        }
+    }
+}
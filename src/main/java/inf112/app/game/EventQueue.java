@@ -0,0 +1,115 @@
+package inf112.app.game;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Ring buffer handing {@link GameEvent}s from one producer thread to one consumer thread without locks. <br>
+ * The producer only writes the tail and the consumer only writes the head,
+ * so each side just has to see the counter of the other side, which the atomic counters make sure of.
+ * Each side also keeps its own copy of the other counter, and only reads the shared one
+ * when the copy says the buffer is full or empty.
+ * Only one thread may call {@link #offer(GameEvent)} and {@link #put(GameEvent)},
+ * and only one thread may call {@link #poll()}.
+ */
+public class EventQueue {
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private final GameEvent[] buffer;
+    private final int mask;
+    //Next event to read, only written by the consumer
+    private final AtomicLong head = new AtomicLong();
+    //Next free slot, only written by the producer
+    private final AtomicLong tail = new AtomicLong();
+    //The head as last seen by the producer
+    private long producerHead;
+    //The tail as last seen by the consumer
+    private long consumerTail;
+
+    public EventQueue(){
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity How many events the queue holds, a power of two
+     */
+    public EventQueue(int capacity){
+        if(capacity <= 0 || Integer.bitCount(capacity) != 1){
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        buffer = new GameEvent[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * Adds an event, called by the producer
+     * @param event The event to add
+     * @return false if the queue is full
+     */
+    public boolean offer(GameEvent event){
+        if(event == null){
+            throw new IllegalArgumentException("Event can't be null");
+        }
+        long t = tail.get();
+        if(t - producerHead >= buffer.length){
+            producerHead = head.get();
+            if(t - producerHead >= buffer.length){
+                return false;
+            }
+        }
+        buffer[(int) t & mask] = event;
+        //Publishes the event, and everything the producer did before it
+        tail.lazySet(t + 1);
+        return true;
+    }
+
+    /**
+     * Adds an event, waiting for the consumer to make room if the queue is full
+     * @param event The event to add
+     * @throws InterruptedException If the producer is interrupted while waiting
+     */
+    public void put(GameEvent event) throws InterruptedException {
+        while(!offer(event)){
+            if(Thread.interrupted()){
+                throw new InterruptedException();
+            }
+            LockSupport.parkNanos(100_000);
+        }
+    }
+
+    /**
+     * Takes the oldest event, called by the consumer
+     * @return The event, null if the queue is empty
+     */
+    public GameEvent poll(){
+        long h = head.get();
+        if(h >= consumerTail){
+            consumerTail = tail.get();
+            if(h >= consumerTail){
+                return null;
+            }
+        }
+        int index = (int) h & mask;
+        GameEvent event = buffer[index];
+        buffer[index] = null;
+        head.lazySet(h + 1);
+        return event;
+    }
+
+    /**
+     * @return How many events are waiting, may be out of date as soon as it is returned
+     */
+    public int size(){
+        //Head first, the tail can only have moved further since
+        long h = head.get();
+        return (int) (tail.get() - h);
+    }
+
+    public boolean isEmpty(){
+        return size() == 0;
+    }
+
+    public int capacity(){
+        return buffer.length;
+    }
+}
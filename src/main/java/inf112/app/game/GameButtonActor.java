@@ -1,7 +1,6 @@
 package inf112.app.game;
 
 import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
-import inf112.app.map.Map;
 
 public class GameButtonActor extends ButtonActor {
 
@@ -20,7 +19,7 @@ public class GameButtonActor extends ButtonActor {
         this.layer = layer;
         this.type = type;
         int index = "powerdown".equals(type) ? 1 : 3;
-        TiledMapTileLayer buttons = (TiledMapTileLayer) Map.getInstance().getGameButtons().getLayers().get(0);
+        TiledMapTileLayer buttons = (TiledMapTileLayer) stage.getCardUI().getGameButtons().getLayers().get(0);
         buttonDown = buttons.getCell(index,0);
         this.x = x;
         this.y = y;
@@ -0,0 +1,142 @@
+package inf112.app.game;
+
+import inf112.app.map.Direction.DirEnum;
+import inf112.app.objects.LaserBeam;
+import inf112.app.objects.Robot;
+
+import java.util.ArrayList;
+
+/**
+ * Something that happened in the game, published by the {@link Simulation} and shown by the render thread. <br>
+ * Events never change after they are made, and hold copies of the state they describe,
+ * so the render thread doesn't read the robots while the simulation is changing them.
+ * The robot of an event is only there to tell the robots apart.
+ */
+public final class GameEvent {
+    public enum Type {
+        //The robot moved or turned, x, y and direction is where it is now
+        MOVED,
+        //One beam of a laser volley
+        LASER,
+        //The robot was hit, value is the damage tokens it has now
+        DAMAGE,
+        //The robot was repaired, value is the damage tokens it has now
+        REPAIRED,
+        //The robot lost a life, value is the lives it has left
+        LIFE_LOST,
+        //The robot got a new checkpoint at x and y
+        CHECKPOINT,
+        //The robot reached a flag, value is the number of the flag
+        FLAG,
+        //The robot was dealt new cards, value is how many
+        CARDS_DEALT,
+        //All the events of a phase have been published, value is the number of the phase
+        PHASE_DONE,
+        //The round is over and the robots can be programmed again
+        ROUND_DONE
+    }
+
+    private final Type type;
+    private final Robot robot;
+    private final int x;
+    private final int y;
+    private final DirEnum direction;
+    private final int value;
+    private final LaserBeam beam;
+
+    private GameEvent(Type type, Robot robot, int x, int y, DirEnum direction, int value, LaserBeam beam){
+        this.type = type;
+        this.robot = robot;
+        this.x = x;
+        this.y = y;
+        this.direction = direction;
+        this.value = value;
+        this.beam = beam;
+    }
+
+    public static GameEvent moved(Robot robot, int x, int y, DirEnum direction){
+        return new GameEvent(Type.MOVED, robot, x, y, direction, 0, null);
+    }
+
+    /**
+     * @param beam The beam, it is copied since the laser reuses it for the next volley
+     */
+    public static GameEvent laser(LaserBeam beam){
+        LaserBeam copy = new LaserBeam(new ArrayList<>(beam.getPath()), beam.isHorizontal(), beam.isDouble());
+        return new GameEvent(Type.LASER, null, 0, 0, null, 0, copy);
+    }
+
+    public static GameEvent damage(Robot robot, int damageTokens){
+        return new GameEvent(Type.DAMAGE, robot, 0, 0, null, damageTokens, null);
+    }
+
+    public static GameEvent repaired(Robot robot, int damageTokens){
+        return new GameEvent(Type.REPAIRED, robot, 0, 0, null, damageTokens, null);
+    }
+
+    public static GameEvent lifeLost(Robot robot, int lives){
+        return new GameEvent(Type.LIFE_LOST, robot, 0, 0, null, lives, null);
+    }
+
+    public static GameEvent checkpoint(Robot robot, int x, int y){
+        return new GameEvent(Type.CHECKPOINT, robot, x, y, null, 0, null);
+    }
+
+    public static GameEvent flag(Robot robot, int flagNum){
+        return new GameEvent(Type.FLAG, robot, 0, 0, null, flagNum, null);
+    }
+
+    public static GameEvent cardsDealt(Robot robot, int cards){
+        return new GameEvent(Type.CARDS_DEALT, robot, 0, 0, null, cards, null);
+    }
+
+    public static GameEvent phaseDone(int phaseNum){
+        return new GameEvent(Type.PHASE_DONE, null, 0, 0, null, phaseNum, null);
+    }
+
+    public static GameEvent roundDone(){
+        return new GameEvent(Type.ROUND_DONE, null, 0, 0, null, 0, null);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @return The robot the event is about, null for lasers and the end of phases and rounds
+     */
+    public Robot getRobot() {
+        return robot;
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    public DirEnum getDirection() {
+        return direction;
+    }
+
+    /**
+     * @return The damage tokens, lives, flag number, number of cards or phase number, depending on the type
+     */
+    public int getValue() {
+        return value;
+    }
+
+    /**
+     * @return The beam of a laser event, not to be changed
+     */
+    public LaserBeam getBeam() {
+        return beam;
+    }
+
+    @Override
+    public String toString() {
+        return type + "(" + value + ")";
+    }
+}
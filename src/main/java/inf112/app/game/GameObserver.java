@@ -0,0 +1,92 @@
+package inf112.app.game;
+
+import inf112.app.objects.LaserBeam;
+import inf112.app.objects.Robot;
+
+import java.util.List;
+
+/**
+ * Told about what happens in a game, for the side effects of the rules like sounds, the card interface and statistics. <br>
+ * Every method does nothing by default, so an observer only implements what it needs.
+ * A map starts out with {@link #NONE}, so headless games and tests don't pay for anything.
+ * The observers are added to a map with {@link inf112.app.map.Map#addObserver(GameObserver)}.
+ */
+public interface GameObserver {
+    GameObserver NONE = new GameObserver() {};
+
+    /**
+     * All the lasers on the map fired
+     * @param beams The beams of the volley, only valid during the call
+     */
+    default void lasersFired(List<LaserBeam> beams){}
+
+    /**
+     * @param robot The robot that was hit
+     * @param damageTokens The damage tokens the robot has now
+     */
+    default void damageTaken(Robot robot, int damageTokens){}
+
+    /**
+     * @param robot The robot that was repaired
+     * @param damageTokens The damage tokens the robot has now
+     */
+    default void damageRepaired(Robot robot, int damageTokens){}
+
+    /**
+     * The robot got too much damage and lost a life, its damage tokens are gone
+     * @param robot The robot
+     * @param lives The lives it has left, 0 if it is dead
+     */
+    default void lifeLost(Robot robot, int lives){}
+
+    /**
+     * @param robot The robot that got a new checkpoint
+     * @param x coordinate of the checkpoint
+     * @param y coordinate of the checkpoint
+     */
+    default void checkpointReached(Robot robot, int x, int y){}
+
+    /**
+     * @param first Told first
+     * @param second Told second
+     * @return An observer telling both observers
+     */
+    static GameObserver both(GameObserver first, GameObserver second){
+        if(first == NONE){
+            return second;
+        } else if(second == NONE){
+            return first;
+        }
+        return new GameObserver() {
+            @Override
+            public void lasersFired(List<LaserBeam> beams) {
+                first.lasersFired(beams);
+                second.lasersFired(beams);
+            }
+
+            @Override
+            public void damageTaken(Robot robot, int damageTokens) {
+                first.damageTaken(robot, damageTokens);
+                second.damageTaken(robot, damageTokens);
+            }
+
+            @Override
+            public void damageRepaired(Robot robot, int damageTokens) {
+                first.damageRepaired(robot, damageTokens);
+                second.damageRepaired(robot, damageTokens);
+            }
+
+            @Override
+            public void lifeLost(Robot robot, int lives) {
+                first.lifeLost(robot, lives);
+                second.lifeLost(robot, lives);
+            }
+
+            @Override
+            public void checkpointReached(Robot robot, int x, int y) {
+                first.checkpointReached(robot, x, y);
+                second.checkpointReached(robot, x, y);
+            }
+        };
+    }
+}
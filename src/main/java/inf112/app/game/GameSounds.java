@@ -2,8 +2,15 @@ package inf112.app.game;
 
 import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.audio.Sound;
+import inf112.app.objects.LaserBeam;
+import inf112.app.objects.Robot;
 
-public class GameSounds {
+import java.util.List;
+
+/**
+ * Plays the sounds of the game, registered as an observer of the game shown on screen
+ */
+public class GameSounds implements GameObserver {
     private AssetManager manager;
 
     public GameSounds(AssetManager manager) {
@@ -11,7 +18,7 @@ public class GameSounds {
     }
 
     public void laserSound() {
-        manager.get("assets/Sounds/LaserSound.wav", Sound.class).play(4.0f);
+        manager.get("assets/Sounds/LazerSound.wav", Sound.class).play(4.0f);
     }
 
     public void takeDamage() {
@@ -26,4 +33,24 @@ public class GameSounds {
         manager.get("assets/Sounds/NewCheckPoint.wav", Sound.class).play(4.0f);
     }
 
+    @Override
+    public void lasersFired(List<LaserBeam> beams) {
+        laserSound();
+    }
+
+    @Override
+    public void damageTaken(Robot robot, int damageTokens) {
+        takeDamage();
+    }
+
+    @Override
+    public void lifeLost(Robot robot, int lives) {
+        deathSound();
+    }
+
+    @Override
+    public void checkpointReached(Robot robot, int x, int y) {
+        checkpoint();
+    }
+
 }
@@ -0,0 +1,75 @@
+package inf112.app.game;
+
+import inf112.app.objects.LaserBeam;
+import inf112.app.objects.Robot;
+
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Counts what happens in a game, registered as an observer like the sounds
+ */
+public class GameStats implements GameObserver {
+    private int volleys;
+    private int hits;
+    private int livesLost;
+    private int checkpoints;
+    private HashMap<Robot, Integer> hitsByRobot = new HashMap<>();
+
+    @Override
+    public void lasersFired(List<LaserBeam> beams) {
+        volleys++;
+    }
+
+    @Override
+    public void damageTaken(Robot robot, int damageTokens) {
+        hit(robot);
+    }
+
+    @Override
+    public void lifeLost(Robot robot, int lives) {
+        //The hit that took the last life counts too
+        hit(robot);
+        livesLost++;
+    }
+
+    @Override
+    public void checkpointReached(Robot robot, int x, int y) {
+        checkpoints++;
+    }
+
+    private void hit(Robot robot){
+        hits++;
+        hitsByRobot.merge(robot, 1, Integer::sum);
+    }
+
+    public int getVolleys() {
+        return volleys;
+    }
+
+    public int getHits() {
+        return hits;
+    }
+
+    /**
+     * @param robot The robot
+     * @return How many times the robot was hit
+     */
+    public int getHits(Robot robot) {
+        return hitsByRobot.getOrDefault(robot, 0);
+    }
+
+    public int getLivesLost() {
+        return livesLost;
+    }
+
+    public int getCheckpoints() {
+        return checkpoints;
+    }
+
+    @Override
+    public String toString() {
+        return "Laser volleys: " + volleys + ", hits: " + hits
+                + ", lives lost: " + livesLost + ", checkpoints: " + checkpoints;
+    }
+}
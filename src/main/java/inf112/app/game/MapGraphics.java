@@ -0,0 +1,438 @@
+package inf112.app.game;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.tiles.StaticTiledMapTile;
+import inf112.app.map.Direction.DirEnum;
+import inf112.app.map.MapCell;
+import inf112.app.map.Position;
+import inf112.app.objects.LaserBeam;
+import inf112.app.objects.Robot;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Class that keeps track of the TiledMap and it's layers,
+ * and draws the state of the {@link inf112.app.map.Map} onto them.
+ * The game logic does not depend on this class.
+ */
+public class MapGraphics {
+    //Robots moving further than this in one phase jump to their new cell, like when put back at a checkpoint
+    public static final int MAX_SLIDE = 6;
+
+    private TiledMap map;
+    private TiledMapTileLayer boardLayer;
+    private TiledMapTileLayer holeLayer;
+    private TiledMapTileLayer flagLayer;
+    private TiledMapTileLayer playerLayer;
+    private TiledMapTileLayer gearLayer;
+    private TiledMapTileLayer wallLayer;
+    private TiledMapTileLayer conveyorLayer;
+    private TiledMapTileLayer laserLayer;
+    private TiledMapTileLayer laser2Layer;
+    private TiledMapTileLayer utilityLayer;
+
+    //Horizontal, vertical, double horizontal and double vertical beam
+    private TextureRegion[] laserRegions;
+    //The beams shown, as x, y, width and height in tiles, four numbers per beam
+    private float[] beamQuads = new float[0];
+    private TextureRegion[] beamRegions = new TextureRegion[0];
+    private int beamCount;
+    //Indexes of the map layers drawn before and after the beams, so the beams lie under walls and robots like the Laser layer
+    private int[] layersBelowLasers;
+    private int[] layersAboveLasers;
+
+    //Sprites are split per character, but each robot needs its own cells since they are rotated
+    private HashMap<String, TextureRegion[][]> spriteSheets;
+    private HashMap<Robot, RobotSprite> robotSprites;
+    //Counts the calls to updateRobots, to find robots that are no longer on the map
+    private int frame;
+    //How far the moving robots have come, from 0 to 1
+    private float progress = 1;
+
+    /**
+     * The cells of a robot, and where and how it was last drawn in the player layer
+     */
+    private static class RobotSprite {
+        private TiledMapTileLayer.Cell[] cells;
+        //The cell placed in the player layer, null if the robot isn't drawn
+        private TiledMapTileLayer.Cell shown;
+        private int x;
+        private int y;
+        private int orientation;
+        private int frame;
+        //Set while the robot slides from the from-coordinates to x and y, it is not in the player layer then
+        private boolean moving;
+        private boolean placed;
+        private float fromX;
+        private float fromY;
+    }
+
+    /**
+     * @param tiledMap The map to draw on
+     * @param laserSprites The TiledMap holding the laser sprites
+     */
+    public MapGraphics(TiledMap tiledMap, TiledMap laserSprites){
+        this.map = tiledMap;
+        spriteSheets = new HashMap<>();
+        robotSprites = new HashMap<>();
+
+        //Loading layers
+        boardLayer = (TiledMapTileLayer) map.getLayers().get("Board");
+        holeLayer = (TiledMapTileLayer) map.getLayers().get("Hole");
+        flagLayer = (TiledMapTileLayer) map.getLayers().get("Flag");
+        playerLayer = (TiledMapTileLayer) map.getLayers().get("Player");
+        gearLayer = (TiledMapTileLayer) map.getLayers().get("Gear");
+        wallLayer = (TiledMapTileLayer) map.getLayers().get("Wall");
+        conveyorLayer = (TiledMapTileLayer) map.getLayers().get("Conveyor");
+        laserLayer = (TiledMapTileLayer) map.getLayers().get("Laser");
+        //The laser layers are left empty, the beams are drawn in their place by drawLasers
+        laser2Layer = (TiledMapTileLayer) map.getLayers().get("Laser2");
+        utilityLayer = (TiledMapTileLayer) map.getLayers().get("Utility");
+        splitLayersAtLasers();
+
+        TiledMapTileLayer sourceLayer = (TiledMapTileLayer) laserSprites.getLayers().get(0);
+        laserRegions = new TextureRegion[4];
+        for(int i = 0; i < laserRegions.length; i++){
+            laserRegions[i] = sourceLayer.getCell(i, 0).getTile().getTextureRegion();
+        }
+    }
+
+    /**
+     * Splits the layers of the map at the Laser layer, all the layers are below the lasers if the map has none
+     */
+    private void splitLayersAtLasers(){
+        int layers = map.getLayers().getCount();
+        int laserIndex = laserLayer == null ? layers : map.getLayers().getIndex(laserLayer);
+        layersBelowLasers = new int[laserIndex];
+        layersAboveLasers = new int[layers - laserIndex];
+        for(int i = 0; i < layers; i++){
+            if(i < laserIndex){
+                layersBelowLasers[i] = i;
+            } else {
+                layersAboveLasers[i - laserIndex] = i;
+            }
+        }
+    }
+
+    public TiledMap getMap() {
+        return map;
+    }
+
+    /**
+     * @return Indexes of the layers to render before {@link #drawLasers(Batch)}
+     */
+    public int[] getLayersBelowLasers() {
+        return layersBelowLasers;
+    }
+
+    /**
+     * @return Indexes of the layers to render after {@link #drawLasers(Batch)}, the walls and the robots among them
+     */
+    public int[] getLayersAboveLasers() {
+        return layersAboveLasers;
+    }
+
+    public TiledMapTileLayer getLayer(String layerName){
+        switch(layerName) {
+            case "player":
+                return playerLayer;
+            case "hole":
+                return holeLayer;
+            case "board":
+                return boardLayer;
+            case "flag":
+                return flagLayer;
+            case "gear":
+                return gearLayer;
+            case "wall":
+                return wallLayer;
+            case "conveyor":
+                return conveyorLayer;
+            case "laser":
+                return laserLayer;
+            case "laser2":
+                return laser2Layer;
+            case "utility":
+                return utilityLayer;
+            default:
+                throw new IllegalArgumentException("Layer name is invalid");
+        }
+    }
+
+    /**
+     * Method for removing all the graphics from a {@link TiledMapTileLayer}
+     * @param layer which the elements should be removed from
+     */
+    public void clearLayer(TiledMapTileLayer layer){
+        for(int x = 0; x < layer.getWidth(); x++){
+            for(int y = 0; y < layer.getHeight(); y++){
+                layer.setCell(x,y,null);
+            }
+        }
+    }
+
+    /**
+     * Sets the beams of the laser volley to show, each is drawn as one stretched sprite
+     * by {@link #drawLasers(Batch)}, so crossing beams simply overlap
+     * @param beams The beams to show, they are not kept
+     */
+    public void showLasers(List<LaserBeam> beams){
+        if(beamRegions.length < beams.size()){
+            beamRegions = new TextureRegion[beams.size()];
+            beamQuads = new float[beams.size() * 4];
+        }
+        beamCount = 0;
+        for(LaserBeam beam : beams){
+            List<MapCell> path = beam.getPath();
+            if(path.isEmpty()){
+                continue;
+            }
+            Position start = path.get(0).getPosition();
+            Position end = path.get(path.size() - 1).getPosition();
+            int quad = beamCount * 4;
+            beamQuads[quad] = Math.min(start.getXCoordinate(), end.getXCoordinate());
+            beamQuads[quad + 1] = Math.min(start.getYCoordinate(), end.getYCoordinate());
+            beamQuads[quad + 2] = Math.abs(start.getXCoordinate() - end.getXCoordinate()) + 1;
+            beamQuads[quad + 3] = Math.abs(start.getYCoordinate() - end.getYCoordinate()) + 1;
+            beamRegions[beamCount] = laserRegions[(beam.isHorizontal() ? 0 : 1) + (beam.isDouble() ? 2 : 0)];
+            beamCount++;
+        }
+    }
+
+    /**
+     * Draws the beams set by {@link #showLasers(List)}, between the layers below and above the lasers
+     * @param batch Batch using the map coordinates, where a tile is one unit
+     */
+    public void drawLasers(Batch batch){
+        for(int i = 0; i < beamCount; i++){
+            int quad = i * 4;
+            batch.draw(beamRegions[i], beamQuads[quad], beamQuads[quad + 1], beamQuads[quad + 2], beamQuads[quad + 3]);
+        }
+    }
+
+    /**
+     * Removes the laser beams from the map
+     */
+    public void clearLasers(){
+        beamCount = 0;
+    }
+
+    /**
+     * @return How many beams are shown
+     */
+    public int getBeamCount() {
+        return beamCount;
+    }
+
+    /**
+     * Brings the player layer up to date with the robots.
+     * Only the cells of robots that moved, turned or left the map since the last call are changed,
+     * so the cost follows the number of robots that changed and not the size of the board
+     * @param robots All the robots on the map
+     */
+    public void updateRobots(List<Robot> robots){
+        updateRobots(robots, 1);
+    }
+
+    /**
+     * Brings the player layer up to date with the robots, letting robots that moved slide to their new cell.
+     * A moving robot is taken out of the player layer and drawn by {@link #drawMovingRobots(Batch)}
+     * until the progress reaches 1, then it is put back in the layer
+     * @param robots All the robots on the map
+     * @param progress How far the robots have come moving since the last phase, 1 to draw them where they are
+     */
+    public void updateRobots(List<Robot> robots, float progress){
+        frame++;
+        for(Robot robot : robots){
+            getSprite(robot).frame = frame;
+            Position pos = robot.getPos();
+            moveRobot(robot, pos.getXCoordinate(), pos.getYCoordinate(), pos.getDirection().getDirEnum(), progress < 1);
+        }
+        Iterator<RobotSprite> sprites = robotSprites.values().iterator();
+        while(sprites.hasNext()){
+            RobotSprite sprite = sprites.next();
+            if(sprite.frame != frame){
+                erase(sprite);
+                sprites.remove();
+            }
+        }
+        setProgress(progress);
+    }
+
+    /**
+     * Moves the sprite of a robot to where the robot is now, without reading the robot,
+     * for when the robots are being changed by another thread, see {@link Simulation}. <br>
+     * A robot only erases its old cell if it is still the one drawn there,
+     * so the robots can be moved in any order, even into a cell another robot is leaving
+     * @param robot The robot
+     * @param x coordinate of the cell the robot is in
+     * @param y coordinate of the cell the robot is in
+     * @param direction Direction the robot is facing
+     * @param slide true to slide the robot to the cell while the progress goes to 1, false to place it right away
+     */
+    public void moveRobot(Robot robot, int x, int y, DirEnum direction, boolean slide){
+        RobotSprite sprite = getSprite(robot);
+        int orientation = orientation(direction);
+        if(sprite.placed && sprite.x == x && sprite.y == y && sprite.orientation == orientation){
+            return;
+        }
+        erase(sprite);
+        if(sprite.placed && slide && Math.abs(x - sprite.x) + Math.abs(y - sprite.y) <= MAX_SLIDE){
+            //Start from where the robot is shown now, which is between two cells if it was already moving
+            sprite.fromX = sprite.moving ? lerp(sprite.fromX, sprite.x, progress) : sprite.x;
+            sprite.fromY = sprite.moving ? lerp(sprite.fromY, sprite.y, progress) : sprite.y;
+            sprite.moving = true;
+            sprite.x = x;
+            sprite.y = y;
+            sprite.orientation = orientation;
+        } else {
+            sprite.moving = false;
+            place(sprite, x, y, orientation);
+        }
+    }
+
+    /**
+     * Sets how far the moving robots have come, and puts them in the player layer when they arrive
+     * @param progress From 0 right after they started moving, to 1 when they have arrived
+     */
+    public void setProgress(float progress){
+        this.progress = progress;
+        if(progress < 1){
+            return;
+        }
+        for(RobotSprite sprite : robotSprites.values()){
+            if(sprite.moving){
+                sprite.moving = false;
+                place(sprite, sprite.x, sprite.y, sprite.orientation);
+            }
+        }
+    }
+
+    /**
+     * Draws the robots that are sliding between two cells, on top of the map
+     * @param batch Batch using the map coordinates, where a tile is one unit
+     */
+    public void drawMovingRobots(Batch batch){
+        for(RobotSprite sprite : robotSprites.values()){
+            if(sprite.moving){
+                TextureRegion region = sprite.cells[0].getTile().getTextureRegion();
+                batch.draw(region, lerp(sprite.fromX, sprite.x, progress), lerp(sprite.fromY, sprite.y, progress),
+                        0.5f, 0.5f, 1, 1, 1, 1, sprite.orientation * 90);
+            }
+        }
+    }
+
+    /**
+     * @param robot The robot
+     * @return true if the robot is sliding between two cells, and not in the player layer
+     */
+    public boolean isMoving(Robot robot){
+        RobotSprite sprite = robotSprites.get(robot);
+        return sprite != null && sprite.moving;
+    }
+
+    private static float lerp(float from, float to, float progress){
+        return from + (to - from) * progress;
+    }
+
+    /**
+     * Removes the robot from the cell it was drawn in, unless another robot has been drawn there since
+     * @param sprite The sprite of the robot
+     */
+    private void erase(RobotSprite sprite){
+        if(playerLayer.getCell(sprite.x, sprite.y) == sprite.shown){
+            playerLayer.setCell(sprite.x, sprite.y, null);
+        }
+        sprite.shown = null;
+    }
+
+    /**
+     * @param direction Direction the robot is facing
+     * @return How many quarter turns the sprite is rotated, sprites face north
+     * and every left turn is one step counterclockwise
+     */
+    private int orientation(DirEnum direction){
+        return (4 - direction.ordinal()) % 4;
+    }
+
+    /**
+     * Draws the robot in the player layer where it is now
+     * @param robot The robot to draw
+     */
+    public void drawRobot(Robot robot){
+        Position pos = robot.getPos();
+        place(getSprite(robot), pos.getXCoordinate(), pos.getYCoordinate(), orientation(pos.getDirection().getDirEnum()));
+    }
+
+    /**
+     * Draws a robot in the player layer, with the sprite depending on
+     * whether it is standing on a hole or a flag
+     * @param sprite The sprite of the robot
+     * @param robotX coordinate of the cell
+     * @param robotY coordinate of the cell
+     * @param orientation Quarter turns of the sprite
+     */
+    private void place(RobotSprite sprite, int robotX, int robotY, int orientation){
+        for(TiledMapTileLayer.Cell cell : sprite.cells){
+            cell.setRotation(orientation);
+        }
+
+        //Checking if player is touching hole or flag
+        TiledMapTileLayer.Cell shown = sprite.cells[0];
+        if(holeLayer.getCell(robotX, robotY) != null){
+            shown = sprite.cells[1];
+        } else if(flagLayer.getCell(robotX, robotY) != null) {
+            shown = sprite.cells[2];
+        }
+        //Setting player sprite to current position
+        playerLayer.setCell(robotX, robotY, shown);
+
+        sprite.shown = shown;
+        sprite.placed = true;
+        sprite.x = robotX;
+        sprite.y = robotY;
+        sprite.orientation = orientation;
+    }
+
+    /**
+     * Finds the sprites of a robot, loading them the first time the robot is drawn
+     * @param robot The robot to find the sprites for
+     * @return The sprite holding the cells with the normal, loosing and winning sprite
+     */
+    private RobotSprite getSprite(Robot robot){
+        RobotSprite sprite = robotSprites.get(robot);
+        if(sprite == null){
+            TextureRegion[][] sheet = loadSpriteSheet(robot.getCharName());
+            sprite = new RobotSprite();
+            sprite.cells = new TiledMapTileLayer.Cell[3];
+            for(int i = 0; i < 3; i++){
+                sprite.cells[i] = new TiledMapTileLayer.Cell().setTile(new StaticTiledMapTile(sheet[0][i]));
+            }
+            robotSprites.put(robot, sprite);
+        }
+        return sprite;
+    }
+
+    /**
+     * Loads the different character sprites so that LibGDX can use them
+     * @param charName Name of the character, will be used in the filepath to the spritesheet
+     * @return The spritesheet split into the individual sprites
+     */
+    private TextureRegion[][] loadSpriteSheet(String charName){
+        TextureRegion[][] sheet = spriteSheets.get(charName);
+        if(sheet == null){
+            String path = "assets/" + charName + ".png";
+            //Loading and splitting player sprites
+            Texture spriteMap = new Texture(path);
+            sheet = TextureRegion.split(spriteMap,300,300);
+            spriteSheets.put(charName, sheet);
+        }
+        return sheet;
+    }
+}
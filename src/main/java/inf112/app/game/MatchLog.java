@@ -0,0 +1,156 @@
+package inf112.app.game;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import inf112.app.cards.CardDeck;
+import inf112.app.cards.CardSlot;
+import inf112.app.cards.ICard;
+import inf112.app.map.Map;
+import inf112.app.map.Position;
+import inf112.app.objects.Robot;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+
+/**
+ * Records a match to a binary file as it is played, so it can be replayed with {@link MatchReplay}. <br>
+ * The file starts with the course, the seed and where the robots started. After that, records are only appended:
+ * the cards dealt to every robot, the cards programmed into the registers every round,
+ * and every {@link #KEYFRAME_INTERVAL} rounds the state of all the robots, so a replay never has to
+ * play more than that many rounds to get anywhere in the match.
+ * Each round is flushed when it is written, so the log of a crashed game can still be replayed. <br>
+ * Cards are stored by their id in the deck, see {@link CardDeck#getId(ICard)}.
+ */
+public class MatchLog {
+    public static final String EXTENSION = ".rrlog";
+    public static final int KEYFRAME_INTERVAL = 10;
+    // "RRML", Robo Rally match log
+    static final int MAGIC = 0x52524D4C;
+    static final int VERSION = 1;
+
+    static final byte KEYFRAME = 1;
+    static final byte REGISTERS = 2;
+    static final byte HAND = 3;
+    static final int REGISTER_COUNT = 5;
+    static final int NO_CARD = -1;
+
+    private final DataOutputStream out;
+    private final Map map;
+    private final ArrayList<Robot> robots;
+    private final int[] state;
+    private int round;
+
+    /**
+     * Starts the log of a match, with the robots that are on the map now and the cards they hold
+     * @param file The file to write, replaced if it exists
+     * @param mapName Name of the course, as given to {@link Map#Map(String, long)}
+     * @param map The match, created with the seed that is logged
+     */
+    public MatchLog(FileHandle file, String mapName, Map map){
+        this.map = map;
+        this.robots = new ArrayList<>(map.getRobotList());
+        this.state = new int[robots.size() * Robot.STATE_SIZE];
+        out = new DataOutputStream(new BufferedOutputStream(file.write(false)));
+        try {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeUTF(mapName);
+            out.writeLong(map.getSeed());
+            out.writeByte(robots.size());
+            for(Robot robot : robots){
+                Position start = robot.getPos();
+                out.writeUTF(robot.getCharName());
+                out.writeShort(start.getXCoordinate());
+                out.writeShort(start.getYCoordinate());
+                out.writeByte(start.getDirection().getDirEnum().ordinal());
+            }
+        } catch (IOException e){
+            throw new GdxRuntimeException("Could not write match log: " + file.path(), e);
+        }
+        //The cards the robots were given before the first round
+        writeHands(1);
+    }
+
+    /**
+     * Logs the registers of the round about to be played, with a keyframe before it every {@link #KEYFRAME_INTERVAL} rounds.
+     * Call it after the robots are programmed and before the robots are put back
+     */
+    public void roundStarted(){
+        round++;
+        try {
+            if((round - 1) % KEYFRAME_INTERVAL == 0){
+                out.writeByte(KEYFRAME);
+                out.writeInt(round);
+                int offset = 0;
+                for(Robot robot : robots){
+                    offset = robot.writeState(state, offset);
+                }
+                for(int value : state){
+                    out.writeInt(value);
+                }
+            }
+            out.writeByte(REGISTERS);
+            out.writeInt(round);
+            for(Robot robot : robots){
+                for(int i = 0; i < REGISTER_COUNT; i++){
+                    ICard card = robot.getProgrammedCard(i);
+                    out.writeByte(card == null ? NO_CARD : CardDeck.getId(card));
+                }
+            }
+            out.flush();
+        } catch (IOException e){
+            throw new GdxRuntimeException("Could not write match log", e);
+        }
+    }
+
+    /**
+     * Logs the cards the robots were dealt for the next round
+     */
+    public void cardsDealt(){
+        writeHands(round + 1);
+    }
+
+    private void writeHands(int forRound){
+        try {
+            out.writeByte(HAND);
+            out.writeInt(forRound);
+            for(Robot robot : robots){
+                CardSlot[] hand = robot.getAvailableCards();
+                int cards = 0;
+                for(CardSlot slot : hand){
+                    cards += slot.hasCard() ? 1 : 0;
+                }
+                out.writeByte(cards);
+                for(CardSlot slot : hand){
+                    if(slot.hasCard()){
+                        out.writeByte(CardDeck.getId(slot.getCard()));
+                    }
+                }
+            }
+            out.flush();
+        } catch (IOException e){
+            throw new GdxRuntimeException("Could not write match log", e);
+        }
+    }
+
+    /**
+     * @return The last round that was logged, 0 before the first round
+     */
+    public int getRound() {
+        return round;
+    }
+
+    public Map getMap() {
+        return map;
+    }
+
+    public void close(){
+        try {
+            out.close();
+        } catch (IOException e){
+            throw new GdxRuntimeException("Could not close match log", e);
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package inf112.app.game;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import inf112.app.cards.CardDeck;
+import inf112.app.map.Direction;
+import inf112.app.map.Direction.DirEnum;
+import inf112.app.map.Map;
+import inf112.app.map.Position;
+import inf112.app.objects.Robot;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+
+/**
+ * Plays a match again from a log written by {@link MatchLog}, without a GL context. <br>
+ * To get to a register, the match is set to the state of the last keyframe before it,
+ * and only the rounds after the keyframe are played again from the logged registers.
+ * A log that ends in the middle of a record, like the log of a crashed game, is read up to the last whole record.
+ */
+public class MatchReplay {
+    private String mapName;
+    private long seed;
+    private String[] charNames;
+    private int[] starts;
+    // Indexed by round, null for rounds that are not in the log
+    private ArrayList<int[]> keyframes = new ArrayList<>();
+    private ArrayList<byte[]> registers = new ArrayList<>();
+    private ArrayList<byte[][]> hands = new ArrayList<>();
+
+    /**
+     * Reads the whole log
+     * @param file The log of the match
+     */
+    public MatchReplay(FileHandle file){
+        //The log is written with DataOutputStream, which is big endian.
+        //It is read into memory, a mapping would keep the file open after the replay is read
+        ByteBuffer buffer = ByteBuffer.wrap(file.readBytes()).order(ByteOrder.BIG_ENDIAN);
+        try {
+            if(buffer.getInt() != MatchLog.MAGIC || buffer.getInt() != MatchLog.VERSION){
+                throw new GdxRuntimeException("Not a match log: " + file.path());
+            }
+            mapName = readString(buffer);
+            seed = buffer.getLong();
+            int robots = buffer.get();
+            charNames = new String[robots];
+            starts = new int[robots * 3];
+            for(int i = 0; i < robots; i++){
+                charNames[i] = readString(buffer);
+                starts[i * 3] = buffer.getShort();
+                starts[i * 3 + 1] = buffer.getShort();
+                starts[i * 3 + 2] = buffer.get();
+            }
+        } catch (BufferUnderflowException e){
+            throw new GdxRuntimeException("Match log is cut short: " + file.path(), e);
+        }
+        readRecords(buffer);
+    }
+
+    private void readRecords(ByteBuffer buffer){
+        int robots = charNames.length;
+        while(buffer.hasRemaining()){
+            try {
+                byte type = buffer.get();
+                int round = buffer.getInt();
+                switch(type){
+                    case MatchLog.KEYFRAME:
+                        int[] state = new int[robots * Robot.STATE_SIZE];
+                        for(int i = 0; i < state.length; i++){
+                            state[i] = buffer.getInt();
+                        }
+                        set(keyframes, round, state);
+                        break;
+                    case MatchLog.REGISTERS:
+                        byte[] cards = new byte[robots * MatchLog.REGISTER_COUNT];
+                        buffer.get(cards);
+                        set(registers, round, cards);
+                        break;
+                    case MatchLog.HAND:
+                        byte[][] dealt = new byte[robots][];
+                        for(int i = 0; i < robots; i++){
+                            dealt[i] = new byte[buffer.get()];
+                            buffer.get(dealt[i]);
+                        }
+                        set(hands, round, dealt);
+                        break;
+                    default:
+                        throw new GdxRuntimeException("Unknown record in match log: " + type);
+                }
+            } catch (BufferUnderflowException e){
+                //The last record was not written completely
+                return;
+            }
+        }
+    }
+
+    private static <T> void set(ArrayList<T> byRound, int round, T value){
+        while(byRound.size() <= round){
+            byRound.add(null);
+        }
+        byRound.set(round, value);
+    }
+
+    private static <T> T get(ArrayList<T> byRound, int round){
+        return round >= 0 && round < byRound.size() ? byRound.get(round) : null;
+    }
+
+    /**
+     * Plays the match up to a register, starting from the nearest keyframe
+     * @param round The round, from 1 to {@link #getRounds()}
+     * @param register How many registers of the round to play, 0 for the start of the round
+     * @return A new map with the robots as they were after the register
+     */
+    public Map seek(int round, int register){
+        if(round < 1 || round > getRounds() || register < 0 || register > MatchLog.REGISTER_COUNT){
+            throw new IllegalArgumentException("No register " + register + " in round " + round + " of the match");
+        }
+        int keyframe = round;
+        while(get(keyframes, keyframe) == null){
+            keyframe--;
+            if(keyframe < 1){
+                throw new GdxRuntimeException("Match log has no keyframe before round " + round);
+            }
+        }
+        Map map = new Map(mapName, seed);
+        ArrayList<Robot> robots = new ArrayList<>();
+        for(int i = 0; i < charNames.length; i++){
+            Position start = new Position(starts[i * 3], starts[i * 3 + 1],
+                    new Direction(DirEnum.fromOrdinal(starts[i * 3 + 2])));
+            robots.add(new Robot(map, start, charNames[i]));
+        }
+        int[] state = keyframes.get(keyframe);
+        int offset = 0;
+        for(Robot robot : robots){
+            offset = robot.readState(state, offset);
+        }
+
+        Rounds rounds = new Rounds(map);
+        for(int r = keyframe; r <= round; r++){
+            int phases = r < round ? MatchLog.REGISTER_COUNT : register;
+            if(phases == 0){
+                break;
+            }
+            rounds.putBackPlayers();
+            program(robots, r);
+            for(int phase = 1; phase <= phases; phase++){
+                rounds.doPhase(phase);
+                map.deactivateLasers();
+            }
+        }
+        return map;
+    }
+
+    /**
+     * Puts the logged cards of a round into the registers of the robots
+     */
+    private void program(ArrayList<Robot> robots, int round){
+        byte[] cards = registers.get(round);
+        for(int i = 0; i < robots.size(); i++){
+            Robot robot = robots.get(i);
+            robot.wipeSlots(robot.getProgrammedCards());
+            for(int register = 0; register < MatchLog.REGISTER_COUNT; register++){
+                int id = cards[i * MatchLog.REGISTER_COUNT + register];
+                if(id != MatchLog.NO_CARD){
+                    robot.setProgrammedCard(register, CardDeck.getCard(id));
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The number of rounds with logged registers, rounds that started but never ended included
+     */
+    public int getRounds() {
+        int rounds = 0;
+        while(get(registers, rounds + 1) != null){
+            rounds++;
+        }
+        return rounds;
+    }
+
+    /**
+     * @param round The round
+     * @param robot Index of the robot, in the order they were added to the map
+     * @return Ids of the cards the robot was dealt for the round, null if they are not in the log
+     */
+    public int[] getHand(int round, int robot){
+        byte[][] dealt = get(hands, round);
+        if(dealt == null){
+            return null;
+        }
+        int[] ids = new int[dealt[robot].length];
+        for(int i = 0; i < ids.length; i++){
+            ids[i] = dealt[robot][i];
+        }
+        return ids;
+    }
+
+    /**
+     * @param round The round
+     * @param robot Index of the robot, in the order they were added to the map
+     * @return Ids of the cards in the registers of the robot, {@link MatchLog#NO_CARD} for empty registers,
+     * null if the round is not in the log
+     */
+    public int[] getRegisters(int round, int robot){
+        byte[] cards = get(registers, round);
+        if(cards == null){
+            return null;
+        }
+        int[] ids = new int[MatchLog.REGISTER_COUNT];
+        for(int i = 0; i < ids.length; i++){
+            ids[i] = cards[robot * MatchLog.REGISTER_COUNT + i];
+        }
+        return ids;
+    }
+
+    public String getMapName() {
+        return mapName;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    private static String readString(ByteBuffer buffer){
+        //Written with writeUTF, which is the same as UTF-8 for the names used here
+        byte[] chars = new byte[buffer.getShort()];
+        buffer.get(chars);
+        return new String(chars, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,142 @@
+package inf112.app.game;
+
+/**
+ * Runs the five phases of a round one at a time, driven by the frame time instead of sleeping. <br>
+ * A phase runs every {@link #getPhaseTime()} seconds, and the new cards are dealt one phase time after the last phase,
+ * so the screen keeps drawing and taking input while the round plays out.
+ * In fast-forward mode the whole round is resolved at once, for games without anyone watching. <br>
+ * A step that isn't ready, see {@link RoundSteps#isReady(int)}, is run on the first update after it is.
+ */
+public class PhaseScheduler {
+    public static final int PHASES = 5;
+    public static final float DEFAULT_PHASE_TIME = 0.5f;
+    //Share of the phase time the robots use to move to their new cells
+    public static final float MOVE_SHARE = 0.5f;
+
+    private RoundSteps rounds;
+    private float phaseTime;
+    private boolean fastForward;
+
+    private boolean ongoing;
+    //Next phase to run, PHASES + 1 when only dealing is left
+    private int phase;
+    private float untilNext;
+    private float sincePhase;
+
+    /**
+     * @param rounds The rounds of the game
+     */
+    public PhaseScheduler(RoundSteps rounds){
+        this(rounds, DEFAULT_PHASE_TIME);
+    }
+
+    /**
+     * @param rounds The rounds of the game
+     * @param phaseTime Seconds between the phases
+     */
+    public PhaseScheduler(RoundSteps rounds, float phaseTime){
+        this.rounds = rounds;
+        setPhaseTime(phaseTime);
+    }
+
+    /**
+     * Puts the robots that lost a life back, and runs the first phase on the next update
+     */
+    public void startRound(){
+        rounds.putBackPlayers();
+        ongoing = true;
+        phase = 1;
+        untilNext = 0;
+        sincePhase = 0;
+    }
+
+    /**
+     * Runs the phases that are due
+     * @param delta Seconds since the last update
+     * @return true if the round is still being played
+     */
+    public boolean update(float delta){
+        if(!ongoing){
+            return false;
+        }
+        if(fastForward){
+            while(ongoing && rounds.isReady(phase)){
+                step();
+            }
+            return ongoing;
+        }
+        sincePhase += delta;
+        untilNext -= delta;
+        while(ongoing && untilNext <= 0 && rounds.isReady(phase)){
+            step();
+            untilNext += phaseTime;
+            sincePhase = 0;
+        }
+        if(untilNext < 0){
+            //Waiting for a step, it runs as soon as it is ready without the later steps catching up
+            untilNext = 0;
+        }
+        return ongoing;
+    }
+
+    /**
+     * Runs the next phase, or deals new cards and ends the round after the last phase
+     */
+    private void step(){
+        if(phase <= PHASES){
+            rounds.doPhase(phase);
+            phase++;
+        } else {
+            ongoing = false;
+            rounds.dealCards();
+        }
+    }
+
+    /**
+     * How far the robots have come moving from where they were before the last phase,
+     * used to draw them between the cells
+     * @return 0 right after a phase, 1 when the robots have reached their cells or no round is played
+     */
+    public float getMoveProgress(){
+        if(!ongoing || fastForward){
+            return 1;
+        }
+        return Math.min(1, sincePhase / (phaseTime * MOVE_SHARE));
+    }
+
+    public boolean isRoundOngoing() {
+        return ongoing;
+    }
+
+    /**
+     * @return The next phase to run, larger than {@link #PHASES} when only dealing the cards is left
+     */
+    public int getPhase() {
+        return phase;
+    }
+
+    public float getPhaseTime() {
+        return phaseTime;
+    }
+
+    /**
+     * @param phaseTime Seconds between the phases
+     */
+    public void setPhaseTime(float phaseTime){
+        if(phaseTime <= 0){
+            throw new IllegalArgumentException("Phase time must be positive: " + phaseTime);
+        }
+        this.phaseTime = phaseTime;
+    }
+
+    public boolean isFastForward() {
+        return fastForward;
+    }
+
+    /**
+     * @param fastForward true to resolve the rest of the round on the next update
+     */
+    public void setFastForward(boolean fastForward){
+        this.fastForward = fastForward;
+    }
+}
@@ -2,7 +2,6 @@ package inf112.app.game;
 
 import com.badlogic.gdx.Input;
 import com.badlogic.gdx.InputAdapter;
-import inf112.app.map.Map;
 import inf112.app.map.Position;
 import inf112.app.map.Direction.Rotation;
 import inf112.app.objects.Robot;
@@ -49,7 +48,7 @@ public class Player extends InputAdapter {
                 character.initiateRobotProgramme();
                 break;
             case Input.Keys.L:
-                Map.getInstance().fireLasers();
+                character.getMap().fireLasers();
                 break;
             default:
                 System.out.println("Unassigned input");
@@ -14,6 +14,7 @@ import inf112.app.map.Map;
 
 import inf112.app.screens.LoadingMenuScreen;
 import inf112.app.screens.PauseGameScreen;
+import inf112.app.util.CourseLibrary;
 
 public class RoboRally extends Game {
     public SpriteBatch batch;
@@ -34,11 +35,17 @@ public class RoboRally extends Game {
 
     public Sounds sounds;
 
+    public CourseLibrary courses;
+
+    public CourseThumbnails thumbnails;
+
     @Override
     public void create() {
         batch = new SpriteBatch();
         manager = new AssetManager();
         sounds = new Sounds(manager);
+        courses = new CourseLibrary(manager, Gdx.files.internal("assets/Maps"));
+        thumbnails = new CourseThumbnails(courses);
 
         backgroundMusic = Gdx.audio.newMusic(Gdx.files.internal("assets/Sounds/BackGroundSong.wav"));
         backgroundMusic.setVolume(0.1f);
@@ -63,6 +70,7 @@ public class RoboRally extends Game {
         VisUI.dispose();
         backgroundImg.dispose();
         backgroundMusic.dispose();
+        thumbnails.dispose();
         manager.dispose();
     }
 
@@ -0,0 +1,23 @@
+package inf112.app.game;
+
+/**
+ * The steps of a round, in the order the {@link PhaseScheduler} runs them:
+ * putting the robots back, the five phases, and dealing new cards. <br>
+ * {@link Rounds} plays the steps on the map itself,
+ * while {@link EventPlayback} shows the steps a {@link Simulation} already played.
+ */
+public interface RoundSteps {
+    void putBackPlayers();
+
+    void doPhase(int phaseNum);
+
+    void dealCards();
+
+    /**
+     * @param phaseNum The next step, the number of the phase or {@link PhaseScheduler#PHASES} + 1 for dealing
+     * @return false if the step can't be run yet, the scheduler then tries again on the next update
+     */
+    default boolean isReady(int phaseNum){
+        return true;
+    }
+}
@@ -1,5 +1,6 @@
 package inf112.app.game;
 
+import inf112.app.cards.CardDeck;
 import inf112.app.cards.CardSlot;
 import inf112.app.cards.ICard;
 import inf112.app.map.Map;
@@ -8,16 +9,27 @@ import inf112.app.objects.*;
 
 
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 
-public class Rounds {
+public class Rounds implements RoundSteps {
     private final ArrayList<Robot> robots;
     private Map map;
+    // Priority and robot index of the cards in the current register, reused every phase
+    private long[] order = new long[0];
 
+    /**
+     * Rounds for the current game, see {@link Map#getInstance()}
+     */
     public Rounds() {
-        this.robots = Map.getInstance().getRobotList();
-        this.map = Map.getInstance();
+        this(Map.getInstance());
+    }
 
+    /**
+     * @param map The map, and game, to play the rounds on
+     */
+    public Rounds(Map map) {
+        this.robots = map.getRobotList();
+        this.map = map;
     }
 
 
@@ -25,6 +37,7 @@ public class Rounds {
      * method for putting the players who have lost a life
      * back to their checkpoint
      */
+    @Override
     public void putBackPlayers(){
         for (Robot r : robots){
             if (!r.isDead() && r.hasLostLife()){
@@ -35,44 +48,65 @@ public class Rounds {
     }
 
     /**
-     * dealing right amount of cards to each robot
+     * Collects all the cards back into the deck and
+     * deals the right amount of cards to each robot
      */
+    @Override
     public void dealCards(){
+        CardDeck deck = map.getDeck();
+        if (deck != null){
+            deck.reset();
+            deck.shuffle();
+        }
         for (Robot r : robots){
             r.dealNewCards();
         }
     }
 
+    /**
+     * Packs a card priority and the robot holding the card into one number,
+     * so sorting the numbers sorts the cards by priority.
+     * Equal priorities are broken by the robot index, lowest index first,
+     * which is the order the robots were registered on the map
+     * @param priority Priority points of the card
+     * @param robotIndex Index of the robot in the robot list
+     * @return The packed number
+     */
+    static long packOrder(int priority, int robotIndex) {
+        return ((long) priority << 32) | (Integer.MAX_VALUE - robotIndex);
+    }
+
+    /**
+     * @param packed A number made by {@link #packOrder(int, int)}
+     * @return The index of the robot
+     */
+    static int robotIndex(long packed) {
+        return Integer.MAX_VALUE - (int) packed;
+    }
+
     /**
      * method for doing the actions in rights order for each of the cards
      * and triggering all the elements
      */
+    @Override
     public void doPhase(int phaseNum){
-            ArrayList<Integer> cardsFromSlot = new ArrayList<>();
-            for (Robot r : robots) {
-                ICard card = r.getProgrammedCard(phaseNum - 1);
+            int count = 0;
+            if (order.length < robots.size()) {
+                order = new long[robots.size()];
+            }
+            for (int i = 0; i < robots.size(); i++) {
+                ICard card = robots.get(i).getProgrammedCard(phaseNum - 1);
                 if (card != null) {
-                    cardsFromSlot.add(card.getPoint());
+                    order[count++] = packOrder(card.getPoint(), i);
                 }
             }
-            cardsFromSlot.sort(Collections.reverseOrder());
-            for (int i = 0; i < cardsFromSlot.size(); i++) {
-                for (Robot r : robots) {
-                    ICard card = r.getProgrammedCard(phaseNum - 1);
-                    if (card == null) {
-                        continue;
-                    }
-                    if (cardsFromSlot.get(i) == card.getPoint()) {
-                        card.doAction(r);
-                    }
-                }
+            Arrays.sort(order, 0, count);
+            //Highest priority first, sorted ascending so read from the back
+            for (int i = count - 1; i >= 0; i--) {
+                Robot r = robots.get(robotIndex(order[i]));
+                r.getProgrammedCard(phaseNum - 1).doAction(r);
             }
-                for (Robot r : robots) {
-                    Conveyor conveyor = Conveyor.extractConveyorFromCell(r.getPos());
-                    if (conveyor != null) {
-                        conveyor.doAction(r);
-                    }
-                }
+                map.moveConveyors();
                 for (Robot r : robots) {
                     ArrayList<IBoardElement> contents = map.getCellList().getCell(r.getPos()).getInventory().getElements();
                     for (IBoardElement elem : contents) {
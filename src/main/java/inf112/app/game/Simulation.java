@@ -0,0 +1,277 @@
+package inf112.app.game;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import inf112.app.cards.CardSlot;
+import inf112.app.map.Map;
+import inf112.app.objects.LaserBeam;
+import inf112.app.objects.Robot;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+/**
+ * Plays the rounds of a game on its own thread, so the rules never hold up a frame. <br>
+ * A round is played as fast as it can, and what happened is published as {@link GameEvent}s
+ * in an {@link EventQueue}, with an event after every phase. The render thread shows the events
+ * at its own pace, see {@link EventPlayback}. The side effects of the rules reach the simulation as a
+ * {@link GameObserver} of the map, and are published as events too,
+ * so the observers of the render thread are told when the phase is shown. <br>
+ * The map belongs to the simulation from {@link #startRound()} until the {@link GameEvent.Type#ROUND_DONE}
+ * event is taken from the queue. The render thread must not change or read the robots in between,
+ * and may do both again once it has seen the event.
+ */
+public class Simulation implements Runnable {
+    //Milliseconds stop() waits for the thread, a round is played in far less
+    private static final long STOP_TIMEOUT = 1000;
+    private static final String TAG = "Simulation";
+    private final Map map;
+    private final Rounds rounds;
+    private final EventQueue events;
+    private final Semaphore roundRequests = new Semaphore(0);
+    //What was last published about each robot, only used by the simulation thread
+    private final HashMap<Robot, RobotState> published = new HashMap<>();
+    private Thread thread;
+    //Written by the simulation thread while it plays, null if the match is not logged
+    private MatchLog log;
+    //Set while a round is played, the rules are only run by other threads in between
+    private volatile boolean playing;
+
+    /**
+     * What the render thread has been told about a robot
+     */
+    private static class RobotState {
+        private int x;
+        private int y;
+        private int direction;
+        private int flag;
+    }
+
+    /**
+     * @param map The game to play
+     * @param events Where to publish what happened
+     */
+    public Simulation(Map map, EventQueue events){
+        this.map = map;
+        this.rounds = new Rounds(map);
+        this.events = events;
+        for(Robot robot : map.getRobotList()){
+            published.put(robot, state(robot));
+        }
+        map.addObserver(new GameObserver() {
+            @Override
+            public void lasersFired(List<LaserBeam> beams) {
+                for(LaserBeam beam : beams){
+                    publish(GameEvent.laser(beam));
+                }
+            }
+
+            @Override
+            public void damageTaken(Robot robot, int damageTokens) {
+                publish(GameEvent.damage(robot, damageTokens));
+            }
+
+            @Override
+            public void damageRepaired(Robot robot, int damageTokens) {
+                publish(GameEvent.repaired(robot, damageTokens));
+            }
+
+            @Override
+            public void lifeLost(Robot robot, int lives) {
+                publish(GameEvent.lifeLost(robot, lives));
+            }
+
+            @Override
+            public void checkpointReached(Robot robot, int x, int y) {
+                publish(GameEvent.checkpoint(robot, x, y));
+            }
+        });
+    }
+
+    /**
+     * Publishes an event from the rules, if they are run by this simulation.
+     * The queue only takes events from one thread
+     * @param event The event
+     */
+    private void publish(GameEvent event){
+        if(!playing){
+            return;
+        }
+        try {
+            events.put(event);
+        } catch (InterruptedException e){
+            //Stopping, the rest of the round is not shown
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Starts the simulation thread, which waits for rounds to play
+     */
+    public synchronized void start(){
+        if(thread != null){
+            return;
+        }
+        thread = new Thread(this, "simulation");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops the simulation thread, in the middle of a round if one is being played,
+     * and waits for it to end so the game can be torn down
+     */
+    public synchronized void stop(){
+        if(thread == null){
+            return;
+        }
+        thread.interrupt();
+        try {
+            thread.join(STOP_TIMEOUT);
+        } catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+        }
+        if(thread.isAlive()){
+            error("Simulation did not stop within " + STOP_TIMEOUT + " ms", null);
+        }
+        thread = null;
+    }
+
+    /**
+     * Asks the simulation thread to play a round. The robots must be programmed first
+     */
+    public void startRound(){
+        roundRequests.release();
+    }
+
+    @Override
+    public void run(){
+        try {
+            while(!Thread.currentThread().isInterrupted()){
+                roundRequests.acquire();
+                playRound();
+            }
+        } catch (InterruptedException e){
+            //Stopped
+        } finally {
+            //The log is only written by this thread, so it is closed here too
+            logged(MatchLog::close);
+            log = null;
+        }
+    }
+
+    /**
+     * Plays a whole round on the calling thread, publishing the events of every step
+     * @throws InterruptedException If the thread is interrupted while waiting for room in the queue
+     */
+    public void playRound() throws InterruptedException {
+        playing = true;
+        try {
+            playSteps();
+        } finally {
+            playing = false;
+        }
+    }
+
+    private void playSteps() throws InterruptedException {
+        logged(MatchLog::roundStarted);
+        rounds.putBackPlayers();
+        publishChanges();
+        for(int phase = 1; phase <= PhaseScheduler.PHASES; phase++){
+            rounds.doPhase(phase);
+            //The beams were published when they were fired
+            map.deactivateLasers();
+            publishChanges();
+            events.put(GameEvent.phaseDone(phase));
+        }
+        rounds.dealCards();
+        logged(MatchLog::cardsDealt);
+        for(Robot robot : map.getRobotList()){
+            int cards = 0;
+            for(CardSlot slot : robot.getAvailableCards()){
+                cards += slot.hasCard() ? 1 : 0;
+            }
+            events.put(GameEvent.cardsDealt(robot, cards));
+        }
+        events.put(GameEvent.roundDone());
+    }
+
+    /**
+     * Reports an error to the app log. Headless games, like tests and bots, have no app and report to stderr
+     * @param message What went wrong
+     * @param cause The exception behind it, or null
+     */
+    private static void error(String message, Throwable cause){
+        if(Gdx.app == null){
+            System.err.println(TAG + ": " + message + (cause == null ? "" : ": " + cause.getMessage()));
+        } else if(cause == null){
+            Gdx.app.error(TAG, message);
+        } else {
+            Gdx.app.error(TAG, message, cause);
+        }
+    }
+
+    /**
+     * Writes to the match log, if there is one. A log that can't be written is dropped, the game goes on without it
+     * @param write What to write
+     */
+    private void logged(Consumer<MatchLog> write){
+        if(log == null){
+            return;
+        }
+        try {
+            write.accept(log);
+        } catch (GdxRuntimeException e){
+            error("Match log stopped", e);
+            log = null;
+        }
+    }
+
+    /**
+     * Publishes where the robots are and the flags they reached, if that changed since the last call
+     */
+    private void publishChanges() throws InterruptedException {
+        for(Robot robot : map.getRobotList()){
+            RobotState now = state(robot);
+            RobotState before = published.put(robot, now);
+            if(before == null || before.x != now.x || before.y != now.y || before.direction != now.direction){
+                events.put(GameEvent.moved(robot, now.x, now.y, robot.getPos().getDirection().getDirEnum()));
+            }
+            if(before != null && before.flag != now.flag && now.flag != 0){
+                events.put(GameEvent.flag(robot, now.flag));
+            }
+        }
+    }
+
+    private static RobotState state(Robot robot){
+        RobotState state = new RobotState();
+        state.x = robot.getPos().getXCoordinate();
+        state.y = robot.getPos().getYCoordinate();
+        state.direction = robot.getPos().getDirection().getDirEnum().ordinal();
+        state.flag = robot.getVisitedFlag() == null ? 0 : robot.getVisitedFlag().getNum();
+        return state;
+    }
+
+    /**
+     * Logs every round played from now on. Set it before {@link #start()},
+     * the simulation thread closes the log when it stops
+     * @param log The log of the match, null to stop logging
+     */
+    public void setLog(MatchLog log) {
+        this.log = log;
+    }
+
+    public MatchLog getLog() {
+        return log;
+    }
+
+    public Map getMap() {
+        return map;
+    }
+
+    public EventQueue getEvents() {
+        return events;
+    }
+}
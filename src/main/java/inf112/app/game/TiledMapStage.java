@@ -21,8 +21,8 @@ public class TiledMapStage extends Stage {
 
     private ButtonActor[][] actorGrid;
 
-    public TiledMapStage(RoboRally game){
-        cardUI = CardUI.getInstance();
+    public TiledMapStage(RoboRally game, CardUI cardUI){
+        this.cardUI = cardUI;
         tiledMap = cardUI.getTiles();
 
         cardLayer = (TiledMapTileLayer) tiledMap.getLayers().get("Cards");
@@ -87,6 +87,10 @@ public class TiledMapStage extends Stage {
         }
     }
 
+    public CardUI getCardUI() {
+        return cardUI;
+    }
+
     public RoboRally getGame() {
         return game;
     }
@@ -0,0 +1,30 @@
+package inf112.app.game;
+
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import inf112.app.cards.CardSlot;
+import inf112.app.cards.ICard;
+
+/**
+ * A {@link CardSlot} that is shown in the card interface,
+ * the card layer is brought in sync with the card held by the slot by {@link CardUI#updateCards()}
+ */
+public class UICardSlot extends CardSlot {
+    private TiledMapTileLayer cardLayer;
+    private CardTiles cardTiles;
+
+    public UICardSlot(int x, int y, String position, TiledMapTileLayer cardLayer, CardTiles cardTiles){
+        super(x, y, position);
+        this.cardLayer = cardLayer;
+        this.cardTiles = cardTiles;
+    }
+
+    /**
+     * Shows the card held by the slot in the card layer. <br>
+     * The slot itself doesn't change the layer, since the cards are dealt and removed
+     * by the {@link Simulation} thread while the layer is drawn
+     */
+    public void updateCell(){
+        ICard card = getCard();
+        cardLayer.setCell(getxCoord(), getyCoord(), card == null ? null : cardTiles.getTile(card));
+    }
+}
@@ -0,0 +1,214 @@
+package inf112.app.map;
+
+import inf112.app.map.Direction.DirEnum;
+import inf112.app.map.Direction.Rotation;
+import inf112.app.objects.Robot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Transition table for the conveyor belts on a map, built once when the map is loaded. <br>
+ * For every cell with a belt it holds the cell the belt moves a robot to, and how the robot
+ * turns if it lands on a belt that bends. All the robots on the belts are moved at the same time,
+ * so the result does not depend on the order of the robots.
+ */
+public class ConveyorTable {
+    private static final byte NO_TURN = 0;
+    private static final Rotation[] ROTATIONS = Rotation.values();
+
+    private MapCellList cells;
+    // Cell a robot on the belt is moved to, -1 for cells without a belt.
+    // Same as the cell itself if a wall or the edge of the board is in the way
+    private int[] destination;
+    // Rotation ordinal + 1 for a robot arriving at the destination, 0 for no turn
+    private byte[] turn;
+
+    // Reused between the moves so the belts don't create garbage
+    private int[] from;
+    private int[] to;
+    private boolean[] moving;
+    private boolean[] express;
+    private int[] claims;
+    // Index in the robot list for each robot id, -1 for ids that are not in the list
+    private int[] slotById;
+
+    /**
+     * @param cells The cells of the map, with the conveyor codes filled in
+     */
+    public ConveyorTable(MapCellList cells){
+        this.cells = cells;
+        int size = cells.getSizeX() * cells.getSizeY();
+        destination = new int[size];
+        turn = new byte[size];
+        claims = new int[size];
+        from = new int[0];
+        to = new int[0];
+        moving = new boolean[0];
+        express = new boolean[0];
+        slotById = new int[0];
+
+        for(int index = 0; index < size; index++){
+            int code = cells.getConveyor(index);
+            if(code == MapCellList.NO_CONVEYOR){
+                destination[index] = -1;
+                continue;
+            }
+            DirEnum exit = MapCellList.conveyorExit(code);
+            int next = cells.isBlocked(index, exit) ? index : cells.neighbour(index, exit);
+            destination[index] = next;
+
+            int nextCode = cells.getConveyor(next);
+            if(next != index && nextCode != MapCellList.NO_CONVEYOR){
+                DirEnum nextExit = MapCellList.conveyorExit(nextCode);
+                if(nextExit == exit.turn(Rotation.RIGHT)){
+                    turn[index] = (byte) (Rotation.RIGHT.ordinal() + 1);
+                } else if(nextExit == exit.turn(Rotation.LEFT)){
+                    turn[index] = (byte) (Rotation.LEFT.ordinal() + 1);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param index Index of the cell
+     * @return The cell a belt in the cell moves a robot to, -1 if there is no belt
+     */
+    public int getDestination(int index){
+        return destination[index];
+    }
+
+    /**
+     * @param index Index of the cell
+     * @return How a robot moved by the belt in the cell turns, null if it doesn't
+     */
+    public Rotation getTurn(int index){
+        return turn[index] == NO_TURN ? null : ROTATIONS[turn[index] - 1];
+    }
+
+    /**
+     * Moves all the robots standing on belts. Express belts move the robots one more step
+     * if they are still on a belt after the first one.
+     * @param map The map the robots are on
+     * @param robots All the robots on the map
+     */
+    public void moveRobots(Map map, ArrayList<Robot> robots){
+        ensureCapacity(robots.size());
+        for(int i = 0; i < robots.size(); i++){
+            int code = cells.getConveyor(cells.index(robots.get(i).getPos()));
+            express[i] = code != MapCellList.NO_CONVEYOR && MapCellList.conveyorSpeed(code) == 2;
+        }
+        step(map, robots, null);
+        step(map, robots, express);
+    }
+
+    /**
+     * Moves every robot on a belt one step at the same time. <br>
+     * Robots trying to enter the same cell, robots swapping cells and robots
+     * moving into a robot that doesn't leave all stay where they are.
+     * @param map The map the robots are on
+     * @param robots All the robots on the map
+     * @param only Which robots are allowed to move, null for all of them
+     */
+    private void step(Map map, ArrayList<Robot> robots, boolean[] only){
+        int count = robots.size();
+        indexById(robots);
+        for(int i = 0; i < count; i++){
+            from[i] = cells.index(robots.get(i).getPos());
+            to[i] = (only == null || only[i]) ? destination[from[i]] : -1;
+            moving[i] = to[i] != -1 && to[i] != from[i];
+            if(moving[i]){
+                claims[to[i]]++;
+            }
+        }
+
+        //Two robots entering the same cell, or swapping places, both stay
+        for(int i = 0; i < count; i++){
+            if(!moving[i]){
+                continue;
+            }
+            if(claims[to[i]] > 1){
+                moving[i] = false;
+                continue;
+            }
+            Robot occupant = map.robotInTile(to[i]);
+            if(occupant != null){
+                int j = slotOf(occupant);
+                if(j != -1 && to[j] == from[i] && moving[j]){
+                    moving[i] = false;
+                }
+            }
+        }
+        for(int i = 0; i < count; i++){
+            if(to[i] != -1 && to[i] != from[i]){
+                claims[to[i]] = 0;
+            }
+        }
+
+        //Robots can only enter a cell if the robot in it leaves, repeat until nothing changes
+        boolean changed = true;
+        while(changed){
+            changed = false;
+            for(int i = 0; i < count; i++){
+                if(!moving[i]){
+                    continue;
+                }
+                Robot occupant = map.robotInTile(to[i]);
+                if(occupant == null){
+                    continue;
+                }
+                int j = slotOf(occupant);
+                if(j == -1 || !moving[j]){
+                    moving[i] = false;
+                    changed = true;
+                }
+            }
+        }
+
+        for(int i = 0; i < count; i++){
+            if(!moving[i]){
+                continue;
+            }
+            Robot robot = robots.get(i);
+            robot.shift(MapCellList.conveyorExit(cells.getConveyor(from[i])));
+            Rotation rotation = getTurn(from[i]);
+            if(rotation != null){
+                robot.turn(rotation);
+            }
+        }
+    }
+
+    /**
+     * Maps the ids of the robots to their index in the list, so the robot in a cell is found without a search
+     */
+    private void indexById(ArrayList<Robot> robots){
+        int ids = 0;
+        for(Robot robot : robots){
+            ids = Math.max(ids, robot.getId() + 1);
+        }
+        if(slotById.length < ids){
+            slotById = new int[ids];
+        }
+        Arrays.fill(slotById, -1);
+        for(int i = 0; i < robots.size(); i++){
+            slotById[robots.get(i).getId()] = i;
+        }
+    }
+
+    /**
+     * @return Index of the robot in the list given to {@link #step}, -1 if it isn't in it
+     */
+    private int slotOf(Robot robot){
+        int id = robot.getId();
+        return id >= 0 && id < slotById.length ? slotById[id] : -1;
+    }
+
+    private void ensureCapacity(int count){
+        if(from.length < count){
+            from = new int[count];
+            to = new int[count];
+            moving = new boolean[count];
+            express = new boolean[count];
+        }
+    }
+}
@@ -62,18 +62,19 @@ public class Direction {
      * @param rot Rotation enum denoting LEFT or RIGHT relative to the object
      */
     public void turn(Rotation rot){
-        if (rot == Rotation.LEFT) {
-            angleDeg = (angleDeg - 90);
-            if(angleDeg < 0){
-                angleDeg += 360;
-            }
-            direction = translateAngleToEnum(angleDeg);
-        } else if (rot == Rotation.RIGHT) {
-            angleDeg = (angleDeg + 90) % 360;
-            direction = translateAngleToEnum(angleDeg);
-        } else {
+        if (rot != Rotation.LEFT && rot != Rotation.RIGHT) {
             throw new IllegalArgumentException("Rotation is not valid rotation enum");
         }
+        setDirEnum(direction.turn(rot));
+    }
+
+    /**
+     * Changes the direction without creating a new object
+     * @param dir The new direction
+     */
+    public void setDirEnum(DirEnum dir){
+        direction = dir;
+        angleDeg = translateEnumToAngle(dir);
     }
 
     public int getAngleDeg() {
@@ -109,7 +110,39 @@ public class Direction {
         LEFT, RIGHT
     }
 
+    /**
+     * The directions in clockwise order, so turning is done with the ordinals
+     */
     public enum DirEnum {
-        NORTH, EAST, SOUTH, WEST
+        NORTH, EAST, SOUTH, WEST;
+
+        private static final DirEnum[] VALUES = values();
+        // Steps in x and y for each ordinal
+        private static final int[] DX = {0, 1, 0, -1};
+        private static final int[] DY = {1, 0, -1, 0};
+
+        public int dx() {
+            return DX[ordinal()];
+        }
+
+        public int dy() {
+            return DY[ordinal()];
+        }
+
+        /**
+         * @param rot Which way to turn
+         * @return The direction after turning 90 degrees
+         */
+        public DirEnum turn(Rotation rot) {
+            return VALUES[(ordinal() + (rot == Rotation.RIGHT ? 1 : 3)) % 4];
+        }
+
+        public DirEnum opposite() {
+            return VALUES[(ordinal() + 2) % 4];
+        }
+
+        public static DirEnum fromOrdinal(int ordinal) {
+            return VALUES[ordinal];
+        }
     }
 }
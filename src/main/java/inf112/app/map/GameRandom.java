@@ -0,0 +1,53 @@
+package inf112.app.map;
+
+import java.util.Random;
+
+/**
+ * The random generator of a game. It gives the same numbers as {@link Random} with the same seed,
+ * but its state can be read and set, so a game can be put back to a snapshot and deal the same cards again. <br>
+ * Unlike {@link Random} it is not safe to share between threads, a game is only played by one thread at a time.
+ */
+public class GameRandom extends Random {
+    private static final long serialVersionUID = 1L;
+    // The linear congruential generator of java.util.Random
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+
+    // Set by setSeed, which the constructor of Random calls, so it must not have an initializer
+    private long state;
+
+    public GameRandom(){
+        this(new Random().nextLong());
+    }
+
+    /**
+     * @param seed Seed of the generator
+     */
+    public GameRandom(long seed){
+        super(seed);
+    }
+
+    @Override
+    public synchronized void setSeed(long seed) {
+        super.setSeed(seed);
+        state = (seed ^ MULTIPLIER) & MASK;
+    }
+
+    @Override
+    protected int next(int bits) {
+        state = (state * MULTIPLIER + ADDEND) & MASK;
+        return (int) (state >>> (48 - bits));
+    }
+
+    /**
+     * @return The state of the generator, give it to {@link #setState(long)} to get the same numbers again
+     */
+    public long getState() {
+        return state;
+    }
+
+    public void setState(long state) {
+        this.state = state & MASK;
+    }
+}
@@ -1,105 +1,111 @@
 package inf112.app.map;
 
-import com.badlogic.gdx.maps.MapProperties;
-import com.badlogic.gdx.maps.tiled.TiledMap;
-import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
-import com.badlogic.gdx.maps.tiled.TmxMapLoader;
 import inf112.app.cards.CardDeck;
-import inf112.app.game.GameSounds;
+import inf112.app.game.GameObserver;
 import inf112.app.objects.*;
+import inf112.app.util.CourseCompiler;
 
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.NoSuchElementException;
+import java.util.Random;
 
 /**
- * Class that keeps track of the map and it's layers
- * as well as all the objects on it
+ * Class that keeps track of the map and all the objects on it. <br>
+ * Only holds the game logic, the graphics are handled by {@link inf112.app.game.MapGraphics}
+ * so the map can be simulated without a GL context. <br>
+ * Every instance is a separate game with its own board, robots and deck.
+ * The game logic is always handed the map it runs on, so several games can run
+ * on separate threads. The static instance is only the game shown by the client.
  */
 public class Map {
 
-    //Map and layers
-    private static Map cellMap;
-    private TiledMap map;
-    private TiledMapTileLayer boardLayer;
-    private TiledMapTileLayer holeLayer;
-    private TiledMapTileLayer flagLayer;
-    private TiledMapTileLayer playerLayer;
-    private TiledMapTileLayer gearLayer;
-    private TiledMapTileLayer wallLayer;
-    private TiledMapTileLayer conveyorLayer;
-    private TiledMapTileLayer laserLayer;
-    private TiledMapTileLayer laser2Layer;
-    private TiledMapTileLayer utilityLayer;
+    public static final int NO_ROBOT = -1;
+    // Ints in a snapshot before the robots: robot count, done programming count and whether the deck is saved
+    private static final int SNAPSHOT_HEADER = 3;
+
+    private static volatile Map cellMap;
 
     private int mapSizeX;
     private int mapSizeY;
     private MapCellList cellList;
+    private ConveyorTable conveyors;
     private ArrayList<Robot> robotList;
+    // Robots indexed by their id, deleted robots leave a null so the ids stay stable
+    private ArrayList<Robot> robotsById;
+    // Id of the robot standing in each cell, indexed by MapCellList#index
+    private int[] occupancy;
     private CardDeck deck;
+    private long seed;
+    private GameRandom random;
     private int doneProgrammingCount = 0;
 
-    private TiledMap laserSprites;
     private ArrayList<ILaserInteractor> laserObjects;
+    private ArrayList<LaserBeam> laserBeams;
+    // The fixed lasers whose ray passes through each cell, null for cells without any
+    private ArrayList<ArrayList<Laser>> lasersOverCell;
     private int laserTimer = 0;
     private boolean lasersActive = false;
 
-    private TiledMap gameButtons;
-
-    private GameSounds sound;
+    private GameObserver observer = GameObserver.NONE;
 
     /**
-     * Create a init the Map object by map title
+     * Create a init the Map object by map title, with a random seed
      * @param mapName Name of the map. Must be without extension and full path
      */
     public Map(String mapName){
-        String pathToMap = "assets/" + mapName + ".tmx";
-
-        //Loading map
-        TmxMapLoader loader = new TmxMapLoader();
-        this.map = loader.load(pathToMap);
-        laserSprites = loader.load("assets/Lasers.tmx");
-        initializeObjects();
+        this(mapName, new Random().nextLong());
+    }
 
-        gameButtons = loader.load("assets/GameButtons/Buttons.tmx");
+    /**
+     * Create a init the Map object by map title
+     * @param mapName Name of the map. Must be without extension and full path
+     * @param seed Seed for everything random in the game, see {@link #Map(MapCellList, long)}
+     */
+    public Map(String mapName, long seed){
+        this(CourseCompiler.load("assets/" + mapName + ".tmx"), seed);
     }
 
     /**
-     * Create a init the Map object by TiledMap. Much faster if map is already loaded.
-     * @param tiledMap The TiledMap object to init objects from
+     * Create a init the Map object from cells that are already filled with objects, with a random seed
+     * @param cellList The cells of the map
      */
-    public Map(TiledMap tiledMap, TiledMap laserSprites, TiledMap gameButtons){
-        this.map = tiledMap;
-        this.laserSprites = laserSprites;
-        this.gameButtons = gameButtons;
-        initializeObjects();
+    public Map(MapCellList cellList){
+        this(cellList, new Random().nextLong());
     }
 
     /**
-     * Init objects
+     * Create a init the Map object from cells that are already filled with objects. <br>
+     * The seed drives the shuffling of the deck, and ties are broken by the order
+     * the robots were registered in. So the same seed, robots and programs always play out the same game.
+     * @param cellList The cells of the map
+     * @param seed Seed for everything random in the game
      */
-    private void initializeObjects(){
+    public Map(MapCellList cellList, long seed){
+        this.seed = seed;
+        random = new GameRandom(seed);
+        deck = new CardDeck(random);
 
-        //Loading layers
-        boardLayer = (TiledMapTileLayer) map.getLayers().get("Board");
-        holeLayer = (TiledMapTileLayer) map.getLayers().get("Hole");
-        flagLayer = (TiledMapTileLayer) map.getLayers().get("Flag");
-        playerLayer = (TiledMapTileLayer) map.getLayers().get("Player");
-        gearLayer = (TiledMapTileLayer) map.getLayers().get("Gear");
-        wallLayer = (TiledMapTileLayer) map.getLayers().get("Wall");
-        conveyorLayer = (TiledMapTileLayer) map.getLayers().get("Conveyor");
-        laserLayer = (TiledMapTileLayer) map.getLayers().get("Laser");
-        //Extra layer so lasers can cross each other
-        laser2Layer = (TiledMapTileLayer) map.getLayers().get("Laser2");
-        utilityLayer = (TiledMapTileLayer) map.getLayers().get("Utility");
+        this.cellList = cellList;
+        mapSizeX = cellList.getSizeX();
+        mapSizeY = cellList.getSizeY();
+        conveyors = new ConveyorTable(cellList);
 
-        MapProperties props = map.getProperties();
-        mapSizeX = props.get("width",Integer.class);
-        mapSizeY = props.get("height",Integer.class);
-        cellList = new MapCellList(mapSizeX, mapSizeY, map.getLayers());
+        robotList = new ArrayList<>();
+        robotsById = new ArrayList<>();
+        occupancy = new int[mapSizeX * mapSizeY];
+        Arrays.fill(occupancy, NO_ROBOT);
 
         laserObjects = obtainLaserObjects();
-        robotList = new ArrayList<>();
+        laserBeams = new ArrayList<>();
+        lasersOverCell = new ArrayList<>(Collections.nCopies(mapSizeX * mapSizeY, (ArrayList<Laser>) null));
+        for(ILaserInteractor object : laserObjects){
+            if(object instanceof Wall && ((Wall) object).isLaser()){
+                ((Wall) object).getLaser().traceRay(this);
+            }
+        }
     }
 
     /**
@@ -131,94 +137,35 @@ public class Map {
         return mapSizeY;
     }
 
-    public TiledMap getMap() {
-        return map;
-    }
-
     public MapCellList getCellList() {
         return cellList;
     }
 
-    public TiledMapTileLayer getLayer(String layerName){
-        switch(layerName) {
-            case "player":
-                return playerLayer;
-            case "hole":
-                return holeLayer;
-            case "board":
-                return boardLayer;
-            case "flag":
-                return flagLayer;
-            case "gear":
-                return gearLayer;
-            case "wall":
-                return wallLayer;
-            case "conveyor":
-                return conveyorLayer;
-            case "laser":
-                return laserLayer;
-            case "laser2":
-                return laser2Layer;
-            case "utility":
-                return utilityLayer;
-            default:
-                throw new IllegalArgumentException("Layer name is invalid");
-        }
-    }
-
-    /**
-     * Checks if there is a wall blocking the move or if it is out of bounds
-     * @param currentPos Position the objects is moving from
-     * @return true if the move can be made
-     */
-    public boolean validMove(Position currentPos){
-        Position newPos = currentPos.copyOf();
-        newPos.moveInDirection();
-        //Move is out of bounds
-        if(newPos.getXCoordinate() >= mapSizeX || newPos.getYCoordinate() >= mapSizeY ||
-                newPos.getXCoordinate() < 0 || newPos.getYCoordinate() < 0){
-            return false;
-        }
-
-        MapCell current = cellList.getCell(currentPos);
-        MapCell next = cellList.getCell(newPos);
-        boolean valid = true;
-        //Check if there are walls that are blocking
-        if(containsWall(current)){
-            Wall wall = (Wall) findWall(current.getInventory().getElements());
-            assert wall != null;
-            valid = !wall.blocks(true, currentPos.getDirection().copyOf());
-        }
-        if(containsWall(next)){
-            Wall wall = (Wall) findWall(next.getInventory().getElements());
-            assert wall != null;
-            return valid && !wall.blocks(false, newPos.getDirection().copyOf());
-        }
-        return valid;
+    public ConveyorTable getConveyors() {
+        return conveyors;
     }
 
     /**
-     * Checks if a {@link MapCell} contains a wall
-     * @param cell to be checked
-     * @return true if there is a Wall object in the cell, else false
+     * Moves all the robots standing on conveyor belts at the same time
      */
-    private boolean containsWall(MapCell cell){
-        ArrayList<IBoardElement> inventory = cell.getInventory().getElements();
-        return findWall(inventory) != null;
+    public void moveConveyors(){
+        conveyors.moveRobots(this, robotList);
     }
 
     /**
-     * Find and returns a wall in the cell if there are any
-     * @param inventory The elements in the inventory of a cell
-     * @return The wall if the inventory contains any, null if not
+     * Checks if there is a wall blocking the move or if it is out of bounds. <br>
+     * The walls on both sides of the edge and the edge of the board are merged
+     * into one mask per cell when the map is loaded, see {@link MapCellList#isBlocked}
+     * @param currentPos Position the objects is moving from
+     * @return true if the move can be made
      */
-    private IBoardElement findWall(ArrayList<IBoardElement> inventory){
-        for(IBoardElement elem : inventory) {
-            if (elem instanceof Wall) {
-                return elem;
-            }
+    public boolean validMove(Position currentPos){
+        int x = currentPos.getXCoordinate();
+        int y = currentPos.getYCoordinate();
+        if(x >= mapSizeX || y >= mapSizeY || x < 0 || y < 0){
+            return false;
         }
-        return null;
+        return !cellList.isBlocked(cellList.index(x, y), currentPos.getDirection().getDirEnum());
     }
 
     /**
@@ -236,12 +183,12 @@ public class Map {
 
     /**
      *
-     * @param tiledMap TiledMap to create a map instance from
-     * @return true if cellMap was created and false if not.
+     * @param map An already created map to use as the instance
+     * @return true if cellMap was set and false if not.
      */
-    public static synchronized boolean setInstance(TiledMap tiledMap, TiledMap laserSprites, TiledMap gameButtons){
+    public static synchronized boolean setInstance(Map map){
         if (cellMap == null) {
-            cellMap = new Map(tiledMap, laserSprites, gameButtons);
+            cellMap = map;
             return true;
         }
         return false;
@@ -249,43 +196,41 @@ public class Map {
 
     /**
      *
-     * @return returns the static created cellMap. Throws exception if it doesn't exist
+     * @return returns the static created cellMap, the game shown by the client.
+     * Throws exception if it doesn't exist
      */
-    public static synchronized Map getInstance(){
+    public static Map getInstance(){
         if (cellMap == null)
             throw new NoSuchElementException("Could not find the cellMap");
         return cellMap;
     }
 
-    public TiledMap getLaserSprites() {
-        return laserSprites;
-    }
-
     /**
-     * Method for removing all the graphics from a {@link TiledMapTileLayer}
-     * @param layer which the elements should be removed from
+     * Method for triggering all the lasers on the map to fire
      */
-    public void clearLayer(TiledMapTileLayer layer){
-        for(int x = 0; x < layer.getWidth(); x++){
-            for(int y = 0; y < layer.getHeight(); y++){
-                layer.setCell(x,y,null);
-            }
+    public void fireLasers(){
+        laserBeams.clear();
+        for(int i = 0; i < laserObjects.size(); i++){
+            laserObjects.get(i).fireLaser(this);
         }
+        lasersActive = true;
+        observer.lasersFired(laserBeams);
     }
 
     /**
-     * Method for triggering all the lasers on the map to fire
+     * Adds an observer to be told about what happens in the game,
+     * it is told on the thread playing the game
+     * @param added The observer
      */
-    public void fireLasers(){
-        for(ILaserInteractor object : laserObjects){
-            object.fireLaser();
-        }
-        lasersActive = true;
-        try {
-            sound.laserSound();
-        } catch (NullPointerException ignored){ // Catch exception for test classes
+    public void addObserver(GameObserver added){
+        observer = GameObserver.both(observer, added);
+    }
 
-        }
+    /**
+     * @return The observers of the game, {@link GameObserver#NONE} if there are none
+     */
+    public GameObserver getObserver() {
+        return observer;
     }
 
     /**
@@ -309,24 +254,105 @@ public class Map {
 
     /**
      * Method for turning off the lasers. <br>
-     * Resets the timer and clears all the laser graphics from the map
+     * Resets the timer and removes the beams from the last volley
      */
     public void deactivateLasers(){
         lasersActive = false;
         laserTimer = 0;
-        clearLayer(laserLayer);
-        clearLayer(laser2Layer);
+        laserBeams.clear();
+    }
+
+    /**
+     * Used by the {@link Laser} to report which cells its beam covered
+     * @param beam The beam that was fired
+     */
+    public void addLaserBeam(LaserBeam beam){
+        laserBeams.add(beam);
+    }
+
+    /**
+     * @return The beams fired in the last volley, empty if the lasers are not active
+     */
+    public ArrayList<LaserBeam> getLaserBeams() {
+        return laserBeams;
+    }
+
+    /**
+     * Used by a fixed {@link Laser} to be told when a robot enters or leaves one of the cells of its ray
+     * @param laser The laser
+     * @param cells Indexes of the cells to watch
+     */
+    public void watchCells(Laser laser, int[] cells){
+        for(int index : cells){
+            ArrayList<Laser> lasers = lasersOverCell.get(index);
+            if(lasers == null){
+                lasers = new ArrayList<>();
+                lasersOverCell.set(index, lasers);
+            }
+            lasers.add(laser);
+        }
+    }
+
+    /**
+     * Tells the fixed lasers over a cell that the robot in it has changed
+     * @param index Index of the cell
+     */
+    private void occupancyChanged(int index){
+        ArrayList<Laser> lasers = lasersOverCell.get(index);
+        if(lasers != null){
+            for(Laser laser : lasers){
+                laser.markDirty();
+            }
+        }
     }
 
     /**
      * Method used by the {@link Robot} constructor to make sure that
      * the object is registered in all required lists .
      * @param robot to be registered
+     * @return The id of the robot on this map
      */
-    public void registerRobot(Robot robot){
-        cellList.getCell(robot.getPos()).appendToInventory(robot);
+    public int registerRobot(Robot robot){
+        int id = robotsById.size();
+        robotsById.add(robot);
+        occupancy[cellList.index(robot.getPos())] = id;
+        occupancyChanged(cellList.index(robot.getPos()));
         laserObjects.add(robot);
         robotList.add(robot);
+        return id;
+    }
+
+    /**
+     * Keeps the occupancy up to date, must be called every time a robot changes cell
+     * @param robot The robot that moved, already at its new position
+     * @param oldIndex Index of the cell the robot was in before the move
+     */
+    public void robotMoved(Robot robot, int oldIndex){
+        vacate(robot, oldIndex);
+        occupancy[cellList.index(robot.getPos())] = robot.getId();
+        occupancyChanged(cellList.index(robot.getPos()));
+    }
+
+    /**
+     * Removes the robot from the occupancy of a cell. <br>
+     * Robots can share a cell after being put back on the same checkpoint,
+     * then the cell is handed to the one still standing there
+     * @param robot The robot leaving the cell
+     * @param index Index of the cell
+     */
+    private void vacate(Robot robot, int index){
+        if(occupancy[index] != robot.getId()){
+            return;
+        }
+        occupancy[index] = NO_ROBOT;
+        occupancyChanged(index);
+        for(int i = 0; i < robotList.size(); i++){
+            Robot other = robotList.get(i);
+            if(other != robot && cellList.index(other.getPos()) == index){
+                occupancy[index] = other.getId();
+                return;
+            }
+        }
     }
 
     /**
@@ -335,13 +361,16 @@ public class Map {
      * @return the robot if there is one, otherwise null
      */
     public Robot robotInTile(Position pos){
-        ArrayList<IBoardElement> elems = cellList.getCell(pos).getInventory().getElements();
-        for(IBoardElement e : elems){
-            if(e instanceof Robot){
-                return (Robot) e;
-            }
-        }
-        return null;
+        return robotInTile(cellList.index(pos));
+    }
+
+    /**
+     * @param index Index of the cell to check, see {@link MapCellList#index(int, int)}
+     * @return the robot if there is one, otherwise null
+     */
+    public Robot robotInTile(int index){
+        int id = occupancy[index];
+        return id == NO_ROBOT ? null : robotsById.get(id);
     }
 
     public ArrayList<Robot> getRobotList() {
@@ -354,9 +383,12 @@ public class Map {
      * @param robot to be deleted
      */
     public void deleteRobot(Robot robot){
-        cellList.getCell(robot.getPos()).getInventory().getElements().remove(robot);
+        if(!robotList.remove(robot)){
+            return;
+        }
+        vacate(robot, cellList.index(robot.getPos()));
+        robotsById.set(robot.getId(), null);
         laserObjects.remove(robot);
-        robotList.remove(robot);
     }
 
     /**
@@ -366,10 +398,96 @@ public class Map {
      */
     public void clearBots(){
         for(Robot robot : robotList){
-            cellList.getCell(robot.getPos()).getInventory().getElements().remove(robot);
+            robotsById.set(robot.getId(), null);
             laserObjects.remove(robot);
         }
         robotList.clear();
+        for(int index = 0; index < occupancy.length; index++){
+            if(occupancy[index] != NO_ROBOT){
+                occupancy[index] = NO_ROBOT;
+                occupancyChanged(index);
+            }
+        }
+    }
+
+    /**
+     * @return How many ints a snapshot of the game takes with the robots it has now
+     */
+    public int snapshotSize(){
+        return SNAPSHOT_HEADER + robotList.size() * (Robot.STATE_SIZE + Robot.CARDS_SIZE) + CardDeck.STATE_SIZE;
+    }
+
+    /**
+     * @return A new snapshot of the game, see {@link #snapshot(int[])}
+     */
+    public int[] snapshot(){
+        int[] state = new int[snapshotSize()];
+        snapshot(state);
+        return state;
+    }
+
+    /**
+     * Saves everything that changes while the game is played: the robots, their registers and cards, and the deck
+     * with the generator that shuffles it. The board is not saved, it never changes and is shared by every snapshot,
+     * so a snapshot is only a few hundred bytes and can be reused for the next one. <br>
+     * Take the snapshot between phases, the beams of the last volley are not saved
+     * @param state Where to write, {@link #snapshotSize()} ints
+     */
+    public void snapshot(int[] state){
+        checkSnapshot(state);
+        state[0] = robotList.size();
+        state[1] = doneProgrammingCount;
+        state[2] = deck == null ? 0 : 1;
+        int offset = SNAPSHOT_HEADER;
+        for(Robot robot : robotList){
+            offset = robot.writeState(state, offset);
+            offset = robot.writeCards(state, offset);
+        }
+        if(deck != null){
+            deck.writeState(state, offset);
+        }
+    }
+
+    /**
+     * Puts the game back to a snapshot, changing the robots and the deck in place.
+     * The robots must be the same as when the snapshot was taken, and the observers are not told. The lasers are turned off
+     * @param state A snapshot of this game, see {@link #snapshot(int[])}
+     */
+    public void restore(int[] state){
+        checkSnapshot(state);
+        if(state[0] != robotList.size()){
+            throw new IllegalArgumentException("Snapshot has " + state[0] + " robots, the game has " + robotList.size());
+        }
+        doneProgrammingCount = state[1];
+        int offset = SNAPSHOT_HEADER;
+        for(Robot robot : robotList){
+            offset = robot.readState(state, offset);
+            offset = robot.readCards(state, offset);
+        }
+        if(deck != null && state[2] != 0){
+            deck.readState(state, offset);
+        }
+        deactivateLasers();
+    }
+
+    private void checkSnapshot(int[] state){
+        if(state.length != snapshotSize()){
+            throw new IllegalArgumentException("Snapshot must have " + snapshotSize() + " ints, not " + state.length);
+        }
+    }
+
+    /**
+     * @return The seed the game was started with, use it to play the same game again
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return The random generator of the game, made from the seed
+     */
+    public Random getRandom() {
+        return random;
     }
 
     public void setDeck(CardDeck deck){
@@ -395,8 +513,4 @@ public class Map {
     public boolean checkIfAllRobotsReady(){
         return doneProgrammingCount == robotList.size();
     }
-
-    public TiledMap getGameButtons() {
-        return gameButtons;
-    }
 }
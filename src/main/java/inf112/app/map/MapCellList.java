@@ -2,10 +2,13 @@ package inf112.app.map;
 
 import com.badlogic.gdx.maps.MapLayer;
 import com.badlogic.gdx.maps.MapLayers;
+import com.badlogic.gdx.maps.MapProperties;
 import com.badlogic.gdx.maps.tiled.TiledMapTile;
 import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
-import inf112.app.objects.IBoardElement;
+import inf112.app.map.Direction.DirEnum;
+import inf112.app.objects.*;
 import inf112.app.util.ObjectFactory;
+import inf112.app.util.TileRegistry;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -14,48 +17,307 @@ import java.util.Iterator;
 /**
  * Class for generating and holding all the cells in the map
  * Uses the {@link ObjectFactory} to extract the objects from the TiledMap
- * and fill the cells with them.
+ * and fill the cells with them. <br>
+ * The rule queries read flat arrays indexed by {@link #index(int, int)} instead of
+ * searching the inventories, the {@link MapCell}s are kept as the object view of the board.
  */
 public class MapCellList {
+    public static final int NO_CONVEYOR = 0;
+    public static final int MAX_STARTS = 8;
+    private static final Direction.Rotation[] ROTATIONS = Direction.Rotation.values();
+
     private MapCell[][] cellList;
+    private int width;
+    private int height;
+
+    // One bit per DirEnum ordinal for the sides of the cell that have a wall
+    private byte[] wallMasks;
+    // One bit per DirEnum ordinal for the sides that can't be crossed,
+    // walls on either side of the edge and the edge of the board
+    private byte[] blockedEdges;
+    // Exit ordinal in the two lowest bits, speed in the bits above. 0 means no conveyor
+    private byte[] conveyors;
+    // Rotation ordinal + 1, 0 means no cog
+    private byte[] cogs;
+    // Flag number, 0 means no flag
+    private byte[] flags;
+    // Repair speed, 0 means no repair station
+    private byte[] repairSpeeds;
+    // Cell index of every numbered starting platform, -1 if the course doesn't have it
+    private int[] starts;
+
     // Layer we don't want to create objects from
     private ArrayList<String> exclusionList;
     private ObjectFactory factory;
 
-    MapCellList(int sizeX, int sizeY, MapLayers layers){
+    /**
+     * Creates a cell list from the layers of an already loaded TiledMap
+     * @param sizeX Width of the map
+     * @param sizeY Height of the map
+     * @param layers of the map
+     */
+    public MapCellList(int sizeX, int sizeY, MapLayers layers){
+        this(sizeX, sizeY);
+        for (int x = 0; x < sizeX; x++) {
+            for (int y = 0; y < sizeY; y++) {
+                findObjectsInLayers(x, y, layers);
+            }
+        }
+    }
+
+    /**
+     * Creates a cell list with empty cells, to be filled with {@link #placeTile}
+     * @param sizeX Width of the map
+     * @param sizeY Height of the map
+     */
+    public MapCellList(int sizeX, int sizeY){
+        this(sizeX, sizeY, new TileRegistry());
+    }
+
+    /**
+     * Creates a cell list with empty cells, to be filled with {@link #placeTile}
+     * @param sizeX Width of the map
+     * @param sizeY Height of the map
+     * @param registry The tiles of the tilesets the map uses
+     */
+    public MapCellList(int sizeX, int sizeY, TileRegistry registry){
         cellList = new MapCell[sizeX][sizeY];
+        width = sizeX;
+        height = sizeY;
+        wallMasks = new byte[sizeX * sizeY];
+        conveyors = new byte[sizeX * sizeY];
+        cogs = new byte[sizeX * sizeY];
+        flags = new byte[sizeX * sizeY];
+        repairSpeeds = new byte[sizeX * sizeY];
+        blockedEdges = new byte[sizeX * sizeY];
+        starts = new int[MAX_STARTS];
+        Arrays.fill(starts, -1);
         exclusionList = new ArrayList<>(Arrays.asList("Board","Hole"));
-        factory = new ObjectFactory();
+        factory = new ObjectFactory(registry);
 
         for (int x = 0; x < sizeX; x++) {
             for (int y = 0; y < sizeY; y++) {
-                CellInventory inventory = new CellInventory();
-                inventory.setElements(findObjectsInLayers(x, y, layers));
-                cellList[x][y] = new MapCell(new Position(x, y), inventory);
+                cellList[x][y] = new MapCell(new Position(x, y), new CellInventory());
             }
         }
+        for (int x = 0; x < sizeX; x++) {
+            blockedEdges[index(x, 0)] |= 1 << DirEnum.SOUTH.ordinal();
+            blockedEdges[index(x, sizeY - 1)] |= 1 << DirEnum.NORTH.ordinal();
+        }
+        for (int y = 0; y < sizeY; y++) {
+            blockedEdges[index(0, y)] |= 1 << DirEnum.WEST.ordinal();
+            blockedEdges[index(sizeX - 1, y)] |= 1 << DirEnum.EAST.ordinal();
+        }
     }
 
     /**
-     * Goes through all the layers (not in exclusionList) at a certain
-     * coordinate to extract the objects found and return them
+     * Goes through all the layers at a certain
+     * coordinate and places the objects found in the cell
      * @param x coordinate
      * @param y coordinate
      * @param layers of the map
-     * @return ArrayList of the objects found at the coordinates
      */
-    private ArrayList<IBoardElement> findObjectsInLayers(int x, int y, MapLayers layers){
-        ArrayList<IBoardElement> elements = new ArrayList<>();
+    private void findObjectsInLayers(int x, int y, MapLayers layers){
         Iterator<MapLayer> it = layers.iterator();
         while(it.hasNext()){
             TiledMapTileLayer layer = (TiledMapTileLayer) it.next();
-            if (layer.getCell(x, y) != null && !exclusionList.contains(layer.getName())){
+            if (layer.getCell(x, y) != null){
                 TiledMapTile element = layer.getCell(x, y).getTile();
-                elements.add(factory.generateObject(element,x,y));
+                placeTile(layer.getName(), x, y, element.getId(), element.getProperties());
+            }
+        }
+    }
+
+    /**
+     * Creates the object for a tile and adds it to the cell,
+     * unless the layer is in the exclusionList or the tile has no game logic
+     * @param layerName Name of the layer the tile is in
+     * @param x coordinate
+     * @param y coordinate
+     * @param id Global id of the tile
+     * @param properties Custom properties of the tile, used if the tile isn't registered yet
+     */
+    public void placeTile(String layerName, int x, int y, int id, MapProperties properties){
+        if(exclusionList.contains(layerName)){
+            return;
+        }
+        placeTile(x, y, id, factory.generateObject(id, properties, x, y));
+    }
+
+    /**
+     * Creates the object for a tile from the {@link TileRegistry} and adds it to the cell,
+     * unless the layer is in the exclusionList or the tile has no game logic
+     * @param layerName Name of the layer the tile is in
+     * @param x coordinate
+     * @param y coordinate
+     * @param id Global id of the tile, must be in the registry
+     */
+    public void placeTile(String layerName, int x, int y, int id){
+        if(exclusionList.contains(layerName)){
+            return;
+        }
+        placeTile(x, y, id, factory.generateObject(id, x, y));
+    }
+
+    private void placeTile(int x, int y, int id, IBoardElement element){
+        int start = factory.startNumber(id);
+        if(start != 0){
+            setStart(start, index(x, y));
+        }
+        if(element != null){
+            place(x, y, element);
+        }
+    }
+
+    /**
+     * Adds an element that is already created to the cell
+     * @param x coordinate
+     * @param y coordinate
+     * @param element The element to add
+     */
+    public void place(int x, int y, IBoardElement element){
+        cellList[x][y].appendToInventory(element);
+        record(index(x, y), element);
+    }
+
+    /**
+     * @param number Number of the starting platform, from 1 to {@link #MAX_STARTS}
+     * @param index Index of the cell with the platform
+     */
+    public void setStart(int number, int index){
+        if(number < 1 || number > MAX_STARTS){
+            throw new IllegalArgumentException("No starting platform with number " + number);
+        }
+        starts[number - 1] = index;
+    }
+
+    /**
+     * @param number Number of the starting platform, from 1 to {@link #MAX_STARTS}
+     * @return Index of the cell with the platform, -1 if the course doesn't have it
+     */
+    public int getStart(int number){
+        return starts[number - 1];
+    }
 
+    /**
+     * Stores the game logic of an element in the flat arrays
+     * @param index Index of the cell holding the element
+     * @param element The element placed in the cell
+     */
+    private void record(int index, IBoardElement element){
+        if(element instanceof Wall){
+            for(Direction side : ((Wall) element).getFacing()){
+                wallMasks[index] |= 1 << side.getDirEnum().ordinal();
+                blockEdge(index, side.getDirEnum());
             }
+        } else if(element instanceof Conveyor){
+            Conveyor conveyor = (Conveyor) element;
+            conveyors[index] = (byte) (conveyor.getSpeed() << 2 | conveyor.getExit().getDirEnum().ordinal());
+        } else if(element instanceof Cog){
+            cogs[index] = (byte) (((Cog) element).getRotation().ordinal() + 1);
+        } else if(element instanceof Flag){
+            flags[index] = (byte) ((Flag) element).getNum();
+        } else if(element instanceof RepairStation){
+            repairSpeeds[index] = (byte) ((RepairStation) element).getRepairSpeed();
+        }
+    }
+
+    /**
+     * Marks an edge as blocked from both of the cells sharing it
+     * @param index Index of the cell
+     * @param side The side of the cell to block
+     */
+    private void blockEdge(int index, DirEnum side){
+        blockedEdges[index] |= 1 << side.ordinal();
+        int next = neighbour(index, side);
+        if(next != -1){
+            blockedEdges[next] |= 1 << side.opposite().ordinal();
         }
-        return elements;
+    }
+
+    /**
+     * @param index Index of the cell
+     * @param dir Direction to step in
+     * @return Index of the next cell in the direction, -1 if it is off the board
+     */
+    public int neighbour(int index, DirEnum dir){
+        int x = index % width + dir.dx();
+        int y = index / width + dir.dy();
+        if(x < 0 || y < 0 || x >= width || y >= height){
+            return -1;
+        }
+        return index(x, y);
+    }
+
+    /**
+     * @param index Index of the cell
+     * @param dir Direction of the move
+     * @return true if a wall or the edge of the board stops a move out of the cell in the direction
+     */
+    public boolean isBlocked(int index, DirEnum dir){
+        return (blockedEdges[index] & (1 << dir.ordinal())) != 0;
+    }
+
+    /**
+     * @param x coordinate
+     * @param y coordinate
+     * @return Index of the cell in the flat arrays
+     */
+    public int index(int x, int y){
+        return y * width + x;
+    }
+
+    public int index(Position p){
+        return index(p.getXCoordinate(), p.getYCoordinate());
+    }
+
+    /**
+     * @param index Index of the cell
+     * @return Bitmask with bit {@link DirEnum#ordinal()} set for every side of the cell that has a wall
+     */
+    public int getWallMask(int index){
+        return wallMasks[index];
+    }
+
+    /**
+     * @param index Index of the cell
+     * @return The conveyor code of the cell, {@link #NO_CONVEYOR} if there is none.
+     * Decode it with {@link #conveyorExit(int)} and {@link #conveyorSpeed(int)}
+     */
+    public int getConveyor(int index){
+        return conveyors[index];
+    }
+
+    public static DirEnum conveyorExit(int code){
+        return DirEnum.fromOrdinal(code & 3);
+    }
+
+    public static int conveyorSpeed(int code){
+        return code >> 2;
+    }
+
+    /**
+     * @param index Index of the cell
+     * @return The rotation of the cog in the cell, null if there is none
+     */
+    public Direction.Rotation getCog(int index){
+        return cogs[index] == 0 ? null : ROTATIONS[cogs[index] - 1];
+    }
+
+    /**
+     * @param index Index of the cell
+     * @return The number of the flag in the cell, 0 if there is none
+     */
+    public int getFlag(int index){
+        return flags[index];
+    }
+
+    /**
+     * @param index Index of the cell
+     * @return How many damage tokens the repair station in the cell removes, 0 if there is none
+     */
+    public int getRepairSpeed(int index){
+        return repairSpeeds[index];
     }
 
     public MapCell getCell(Position p){
@@ -63,8 +325,23 @@ public class MapCellList {
     }
 
     public MapCell getCell(int x, int y){
-        Position p = new Position(x,y);
-        return getCell(p);
+        return cellList[x][y];
+    }
+
+    /**
+     * @param index Index of the cell, see {@link #index(int, int)}
+     * @return The cell
+     */
+    public MapCell getCell(int index){
+        return cellList[index % width][index / width];
+    }
+
+    public int getSizeX() {
+        return width;
+    }
+
+    public int getSizeY() {
+        return height;
     }
 
     private void setCell(Position p, CellInventory inventory){
@@ -6,7 +6,9 @@ import inf112.app.map.Direction.DirEnum;
 
 /**
  * Class for representing the objects position on the grid
- * as well as its direction
+ * as well as its direction. <br>
+ * The game logic packs positions into a single int, the index of the cell
+ * in {@link MapCellList}, so moves don't have to create new positions.
  */
 public class Position {
     private int xCoordinate;
@@ -42,51 +44,27 @@ public class Position {
      * @throws IllegalArgumentException if the enum is unrecognized
      */
     public void moveInDirection(){
-        switch(direction.getDirEnum()){
-            case NORTH:
-                moveNorth();
-                break;
-            case EAST:
-                moveEast();
-                break;
-            case SOUTH:
-                moveSouth();
-                break;
-            case WEST:
-                moveWest();
-                break;
-            default: throw new IllegalArgumentException("Unrecognized direction enum");
-        }
+        step(direction.getDirEnum());
     }
 
     /**
-     * Moves the object down/south
+     * Moves the object one step in a direction without changing the direction it is facing
+     * @param dir Direction to step in
      */
-    private void moveSouth() {
-        int currentY = getYCoordinate();
-        setYCoordinate(currentY - 1);
+    public void step(DirEnum dir){
+        xCoordinate += dir.dx();
+        yCoordinate += dir.dy();
     }
 
     /**
-     * Moves the object left/west
+     * Copies the coordinates and direction of another position into this one,
+     * without creating new objects
+     * @param other The position to copy
      */
-    private void moveWest() {
-        int currentX = getXCoordinate();
-        setXCoordinate(currentX - 1);
-    }
-    /**
-     * Moves the object right/east
-     */
-    private void moveEast() {
-        int currentX = getXCoordinate();
-        setXCoordinate(currentX + 1);
-    }
-    /**
-     * Moves the object up/north
-     */
-    private void moveNorth(){
-        int currentY = getYCoordinate();
-        setYCoordinate(currentY + 1);
+    public void set(Position other){
+        xCoordinate = other.xCoordinate;
+        yCoordinate = other.yCoordinate;
+        direction.setDirEnum(other.direction.getDirEnum());
     }
 
     public int getXCoordinate() {
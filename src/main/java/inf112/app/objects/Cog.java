@@ -16,6 +16,10 @@ public class Cog implements IBoardElement {
         this.rotation = r;
     }
 
+    public Rotation getRotation() {
+        return rotation;
+    }
+
     @Override
     public void doAction(Robot robot) {
         robot.turn(rotation);
@@ -2,7 +2,9 @@ package inf112.app.objects;
 
 import inf112.app.map.Direction;
 import inf112.app.map.Map;
+import inf112.app.map.MapCellList;
 import inf112.app.map.Position;
+import inf112.app.map.Direction.DirEnum;
 import inf112.app.map.Direction.Rotation;
 
 import java.util.ArrayList;
@@ -80,35 +82,51 @@ public class Conveyor implements IBoardElement {
     @Override
     public void doAction(Robot robot) {
 
-        robot.move(getExit());
+        robot.move(exit.getDirEnum());
 
-        Conveyor next = extractConveyorFromCell(robot.getPos());
-        if (next == null) {
+        MapCellList cells = robot.getMap().getCellList();
+        int next = cells.getConveyor(cells.index(robot.getPos()));
+        if (next == MapCellList.NO_CONVEYOR) {
             return;
         }
-        if (next.willRotate(exit)) {
-            robot.turn(next.rotationDirection(exit));
-        }
+        DirEnum nextExit = MapCellList.conveyorExit(next);
+        turnOnto(robot, nextExit);
         if (speed == 2) {
-            robot.move(next.getExit());
-            Conveyor afterNext = extractConveyorFromCell(robot.getPos());
-            if(afterNext == null){
+            robot.move(nextExit);
+            int afterNext = cells.getConveyor(cells.index(robot.getPos()));
+            if(afterNext == MapCellList.NO_CONVEYOR){
                 return;
             }
-            if(afterNext.willRotate(exit)){
-                robot.turn(afterNext.rotationDirection(exit));
-            }
+            turnOnto(robot, MapCellList.conveyorExit(afterNext));
+        }
+    }
+
+    /**
+     * Turns the robot if the belt it was moved onto bends,
+     * same as {@link #willRotate(Direction)} and {@link #rotationDirection(Direction)} on the next belt
+     * @param robot The robot that was moved
+     * @param nextExit The exit of the belt the robot was moved onto
+     */
+    private void turnOnto(Robot robot, DirEnum nextExit){
+        DirEnum from = exit.getDirEnum();
+        if (nextExit == from || nextExit == from.opposite()) {
+            return;
         }
+        robot.turn(nextExit == from.turn(Rotation.RIGHT) ? Rotation.RIGHT : Rotation.LEFT);
     }
 
     /**
      * Methode to find out if robot is positioned on a conveyor belt
+     * @param map The map to look in
      * @param pos
-     * @return
+     * @return The conveyor in the cell, null if there is none
      */
-    public static Conveyor extractConveyorFromCell(Position pos){
-        Map map = Map.getInstance();
-        ArrayList<IBoardElement> objectList = map.getCellList().getCell(pos).getInventory().getElements();
+    public static Conveyor extractConveyorFromCell(Map map, Position pos){
+        MapCellList cells = map.getCellList();
+        if (cells.getConveyor(cells.index(pos)) == MapCellList.NO_CONVEYOR) {
+            return null;
+        }
+        ArrayList<IBoardElement> objectList = cells.getCell(pos).getInventory().getElements();
         Conveyor next = null;
         for (IBoardElement e : objectList) {
             if (e instanceof Conveyor) {
@@ -118,7 +136,18 @@ public class Conveyor implements IBoardElement {
         return next;
     }
 
+    /**
+     * @return Copies of the two sides robots can enter the belt from
+     */
+    public Direction[] getEntries() {
+        return new Direction[]{entries[0].copyOf(), entries[1].copyOf()};
+    }
+
     public Direction getExit() {
         return new Direction(exit.getDirEnum());
     }
+
+    public int getSpeed() {
+        return speed;
+    }
 }
@@ -1,9 +1,14 @@
 package inf112.app.objects;
 
+import inf112.app.map.Map;
 import inf112.app.map.Position;
 
 public interface ILaserInteractor {
     Position getPos();
 
-    void fireLaser();
+    /**
+     * Fires the laser, if any
+     * @param map The map the laser is fired on
+     */
+    void fireLaser(Map map);
 }
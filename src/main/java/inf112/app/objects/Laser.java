@@ -1,12 +1,12 @@
 package inf112.app.objects;
 
-import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
 import inf112.app.map.Direction;
 import inf112.app.map.Map;
 import inf112.app.map.MapCell;
-import inf112.app.map.Position;
+import inf112.app.map.MapCellList;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 
 /**
  * Class for representing the lasers
@@ -15,6 +15,15 @@ public class Laser {
     private ILaserInteractor owner;
     private boolean isDouble;
 
+    // Cells of the last beam, refilled every time the beam changes
+    private ArrayList<MapCell> path;
+    private LaserBeam beam;
+
+    // Only used by lasers that never move, see traceRay
+    private int[] ray;
+    private int end;
+    private boolean dirty;
+
     /**
      * Constructor for creating a laser
      * @param owner The object that holds the laser
@@ -23,67 +32,119 @@ public class Laser {
     public Laser (ILaserInteractor owner, boolean isDouble) {
         this.owner = owner;
         this.isDouble = isDouble;
+        path = new ArrayList<>();
+        beam = new LaserBeam(path, false, isDouble);
+    }
+
+    public boolean isDouble() {
+        return isDouble;
+    }
+
+    /**
+     * Finds the longest possible path of a laser that never moves, like the ones on walls.
+     * Uses the same rules as {@link #findLaserPath(Map)}, but ignores robots.
+     * The map tells the laser when a robot enters or leaves the ray,
+     * so the beam is only traced again when it might have changed
+     * @param map The map the laser is on
+     */
+    public void traceRay(Map map){
+        MapCellList cells = map.getCellList();
+        Direction.DirEnum dir = owner.getPos().getDirection().getDirEnum();
+        int start = cells.index(owner.getPos());
+
+        int length = 1;
+        int index = cells.neighbour(start, dir);
+        while(index != -1 && !cells.isBlocked(index, dir)){
+            length++;
+            index = cells.neighbour(index, dir);
+        }
+
+        ray = new int[length];
+        ray[0] = start;
+        for(int i = 1; i < length; i++){
+            ray[i] = cells.neighbour(ray[i-1], dir);
+        }
+        map.watchCells(this, Arrays.copyOfRange(ray, 1, length));
+        dirty = true;
+    }
+
+    /**
+     * Called by the map when a robot has entered or left one of the cells of the ray
+     */
+    public void markDirty(){
+        dirty = true;
+    }
+
+    /**
+     * Shortens the precomputed ray to the first robot in it,
+     * only when a robot has moved in or out of the ray since the last time
+     * @param map The map the laser is fired on
+     * @return Index of the last cell of the beam
+     */
+    private int findCachedPath(Map map){
+        if(dirty){
+            int length = 1;
+            while(length < ray.length){
+                if(map.robotInTile(ray[length++]) != null){
+                    break;
+                }
+            }
+            MapCellList cells = map.getCellList();
+            path.clear();
+            for(int i = 0; i < length; i++){
+                path.add(cells.getCell(ray[i]));
+            }
+            end = ray[length - 1];
+            dirty = false;
+        }
+        return end;
     }
 
     /**
      * Method for determining which cells the laser will traverse.
      * Goes until it is blocked by the edge of the map, robot or wall.
-     * Used by the {@link #fire()} method
-     * @return The lasers path
+     * Used by the {@link #fire(Map)} method
+     * @param map The map the laser is fired on
+     * @return Index of the last cell of the beam
      */
-   private ArrayList<MapCell> findLaserPath() {
-       Position laserBeam = owner.getPos().copyOf();
-       ArrayList<MapCell> path = new ArrayList<>();
-       Map map = Map.getInstance();
+   private int findLaserPath(Map map) {
+       MapCellList cells = map.getCellList();
+       Direction.DirEnum dir = owner.getPos().getDirection().getDirEnum();
+       int index = cells.index(owner.getPos());
+       path.clear();
 
        //Laser should start on the same cell as the owner
-       path.add(map.getCellList().getCell(laserBeam));
-       laserBeam.moveInDirection();
+       path.add(cells.getCell(index));
+       int last = index;
+       index = cells.neighbour(index, dir);
 
-       while (map.validMove(laserBeam)) {
-           MapCell current = map.getCellList().getCell(laserBeam);
-           path.add(current);
-           if(map.robotInTile(current.getPosition()) != null){
+       while (index != -1 && !cells.isBlocked(index, dir)) {
+           path.add(cells.getCell(index));
+           last = index;
+           if(map.robotInTile(index) != null){
                break;
            }
-           laserBeam.moveInDirection();
+           index = cells.neighbour(index, dir);
        }
-       return path;
+       return last;
    }
 
     /**
      * Triggers the laser to fire. Deals damage if there is a robot at the end of the beam. <br>
-     * Applies the laser graphics until deactivated.
+     * The beam is handed to the {@link Map} so it can be drawn until deactivated.
      * The {@link Map} class handles the duration and deactivation.
+     * The laser reuses the same beam every time it fires.
+     * @param map The map the laser is fired on
      */
-   public void fire(){
-       ArrayList<MapCell> path = findLaserPath();
-       Map map = Map.getInstance();
-       Direction dir = owner.getPos().getDirection().copyOf();
-       boolean horizontal = (dir.getDirEnum() == Direction.DirEnum.EAST || dir.getDirEnum() == Direction.DirEnum.WEST);
-
-       int index = -1;
-       if(horizontal){
-           index = (!isDouble) ? 0 : 2;
-       } else {
-           index = (!isDouble) ? 1 : 3;
-       }
-       TiledMapTileLayer sourceLayer = (TiledMapTileLayer) map.getLaserSprites().getLayers().get(0);
-       for(MapCell cell : path){
-           Position pos = cell.getPosition();
-           TiledMapTileLayer.Cell laser = sourceLayer.getCell(index,0);
-           if(map.getLayer("laser").getCell(pos.getXCoordinate(),pos.getYCoordinate()) == null){
-               map.getLayer("laser").setCell(pos.getXCoordinate(),pos.getYCoordinate(),laser);
-           } else {
-               map.getLayer("laser2").setCell(pos.getXCoordinate(),pos.getYCoordinate(),laser);
-           }
+   public void fire(Map map){
+       int last = (ray != null) ? findCachedPath(map) : findLaserPath(map);
+       Direction.DirEnum dir = owner.getPos().getDirection().getDirEnum();
+       beam.setHorizontal(dir == Direction.DirEnum.EAST || dir == Direction.DirEnum.WEST);
+       map.addLaserBeam(beam);
 
-       }
-       Robot potential = map.robotInTile(path.get(path.size()-1).getPosition());
+       Robot potential = map.robotInTile(last);
        if(potential != null && !potential.equals(owner)){
            potential.addDamageTokens(isDouble ? 2 : 1);
        }
    }
 }
-
-
@@ -0,0 +1,38 @@
+package inf112.app.objects;
+
+import inf112.app.map.MapCell;
+
+import java.util.ArrayList;
+
+/**
+ * The cells covered by a single laser when it was fired.
+ * Produced by the game logic and read by the graphics to draw the beam. <br>
+ * Each {@link Laser} keeps one beam and refills it every time it fires.
+ */
+public class LaserBeam {
+    private ArrayList<MapCell> path;
+    private boolean horizontal;
+    private boolean isDouble;
+
+    public LaserBeam(ArrayList<MapCell> path, boolean horizontal, boolean isDouble) {
+        this.path = path;
+        this.horizontal = horizontal;
+        this.isDouble = isDouble;
+    }
+
+    public ArrayList<MapCell> getPath() {
+        return path;
+    }
+
+    public boolean isHorizontal() {
+        return horizontal;
+    }
+
+    void setHorizontal(boolean horizontal) {
+        this.horizontal = horizontal;
+    }
+
+    public boolean isDouble() {
+        return isDouble;
+    }
+}
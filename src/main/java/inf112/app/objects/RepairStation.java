@@ -9,6 +9,10 @@ public class RepairStation implements IBoardElement {
         this.repairSpeed = repairSpeed;
     }
 
+    public int getRepairSpeed() {
+        return repairSpeed;
+    }
+
     @Override
     public void doAction(Robot robot) {
         robot.removeDamageTokens(repairSpeed);
@@ -1,29 +1,40 @@
 package inf112.app.objects;
 
-import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.g2d.TextureRegion;
-import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
-import com.badlogic.gdx.maps.tiled.tiles.StaticTiledMapTile;
-import com.badlogic.gdx.math.Vector2;
+import inf112.app.cards.CardDeck;
 import inf112.app.cards.CardSlot;
 import inf112.app.cards.ICard;
-import inf112.app.game.CardUI;
-import inf112.app.game.GameSounds;
 import inf112.app.map.Direction;
 import inf112.app.map.Map;
+import inf112.app.map.MapCellList;
 import inf112.app.map.Position;
+import inf112.app.map.Direction.DirEnum;
 import inf112.app.map.Direction.Rotation;
 
-import java.util.ArrayList;
+import java.util.Arrays;
+
 
 /**
  * This class is a representation of the robots
- * on the board
+ * on the board. The sprites are handled by {@link inf112.app.game.MapGraphics}
  */
 public class Robot implements ILaserInteractor, IBoardElement {
+    /**
+     * Number of ints {@link #writeState(int[], int)} uses
+     */
+    public static final int STATE_SIZE = 10;
+    /**
+     * Number of ints {@link #writeCards(int[], int)} uses, the card ids are packed four to an int
+     */
+    public static final int CARDS_SIZE = 5;
+    private static final int DEAD = 1;
+    private static final int LOST_LIFE = 2;
+    private static final int POWER_DOWN = 4;
+    private static final int POWER_DOWN_NEXT_ROUND = 8;
+
     private Map map;
+    private int id;
     private Position pos;
-    private Vector2 vectorPos;
+    private String charName;
     private Flag lastVisited;
     private Laser laser;
     private int damageTokens;
@@ -37,22 +48,29 @@ public class Robot implements ILaserInteractor, IBoardElement {
     private boolean hasLostLife;
     private boolean powerDownNextRound;
 
-    //Player sprites
-    private TiledMapTileLayer.Cell normalPlayer;
-    private TiledMapTileLayer.Cell winningPlayer;
-    private TiledMapTileLayer.Cell loosingPlayer;
-
-    private GameSounds sound;
-
+    /**
+     * Creates a robot on the map of the current game, see {@link Map#getInstance()}
+     * @param pos Starting position of the robot
+     * @param charName Name of the character
+     */
     public Robot(Position pos, String charName){
-        this.map = Map.getInstance();
+        this(Map.getInstance(), pos, charName);
+    }
 
-        this.pos = pos;
-        vectorPos = new Vector2(pos.getXCoordinate(),pos.getYCoordinate());
+    /**
+     * Creates a robot and registers it on the given map
+     * @param map The map, and game, the robot belongs to
+     * @param pos Starting position of the robot
+     * @param charName Name of the character
+     */
+    public Robot(Map map, Position pos, String charName){
+        this.map = map;
 
-        loadPlayerSprites(charName);
+        this.pos = pos;
+        this.charName = charName;
+        this.checkPoint = pos.copyOf();
 
-        map.registerRobot(this);
+        id = map.registerRobot(this);
 
         lastVisited = null;
         damageTokens = 0;
@@ -83,7 +101,7 @@ public class Robot implements ILaserInteractor, IBoardElement {
     public void move(int steps){
         while(steps!=0){
             steps -= 1;
-            moveAndPush(this,getPos().getDirection());
+            moveAndPush(this,getPos().getDirection().getDirEnum());
         }
     }
 
@@ -93,75 +111,59 @@ public class Robot implements ILaserInteractor, IBoardElement {
      * @param dir Direction to move in
      */
     public void move(Direction dir){
-        Position copy = pos.copyOf();
-        copy.setDirection(dir);
-        boolean valid = map.validMove(copy);
-        copy.moveInDirection();
-        if(valid && map.robotInTile(copy) == null) {
+        move(dir.getDirEnum());
+    }
+
+    /**
+     * Move the robot in a certain direction without turning or pushing.
+     * Only moves one step
+     * @param dir Direction to move in
+     */
+    public void move(DirEnum dir){
+        MapCellList cells = map.getCellList();
+        int from = cells.index(pos);
+        if(!cells.isBlocked(from, dir) && map.robotInTile(cells.neighbour(from, dir)) == null) {
             updatePosition(this,dir);
         }
     }
 
+    /**
+     * Moves the robot one step without checking for walls or other robots,
+     * for moves that are resolved for all the robots at once, see {@link inf112.app.map.ConveyorTable}
+     * @param dir Direction to move in
+     */
+    public void shift(DirEnum dir){
+        updatePosition(this, dir);
+    }
+
     /**
      * Method to change the direction of the robot
      * @param r Enum for which direction the robot should turn, either LEFT or RIGHT
      */
     public void turn(Rotation r){
         pos.getDirection().turn(r);
-        rotateSprites(r);
     }
 
     public Position getPos() {
         return pos;
     }
 
-    /**
-     * Rotates the visual representation of the robot
-     * @param rot The direction the robot should rotate
-     */
-    private void rotateSprites(Rotation rot) {
-        int orientation = normalPlayer.getRotation();
-        switch(rot){
-            case LEFT:
-                orientation = (orientation + 1) % 4;
-                break;
-            case RIGHT:
-                orientation -= 1;
-                orientation = (orientation < 0) ? 3 : orientation;
-                break;
-            default: throw new IllegalArgumentException("Invalid rotation enum in rotateSprites");
-        }
-        normalPlayer.setRotation(orientation);
-        loosingPlayer.setRotation(orientation);
-        winningPlayer.setRotation(orientation);
-    }
-
-    public TiledMapTileLayer.Cell getNormal() {
-        return normalPlayer;
+    public Map getMap() {
+        return map;
     }
 
-    public TiledMapTileLayer.Cell getWinner() {
-        return winningPlayer;
-    }
-
-    public TiledMapTileLayer.Cell getLooser() {
-        return loosingPlayer;
+    /**
+     * @return The id the map gave the robot when it was registered
+     */
+    public int getId() {
+        return id;
     }
 
-
     /**
-     * Loads the different character sprites so that LibGDX can use them
-     * @param charName Name of the character, will be used in the filepath to the spritesheet
+     * @return Name of the character, used by the graphics to find the spritesheet
      */
-    public void loadPlayerSprites(String charName){
-        String path = "assets/" + charName + ".png";
-        //Loading and splitting player sprites
-        Texture spriteMap = new Texture(path);
-        TextureRegion[][] sprites = TextureRegion.split(spriteMap,300,300);
-        //Assigning individual sprites
-        normalPlayer = new TiledMapTileLayer.Cell().setTile(new StaticTiledMapTile(sprites[0][0]));
-        loosingPlayer = new TiledMapTileLayer.Cell().setTile(new StaticTiledMapTile(sprites[0][1]));
-        winningPlayer = new TiledMapTileLayer.Cell().setTile(new StaticTiledMapTile(sprites[0][2]));
+    public String getCharName() {
+        return charName;
     }
 
     /**
@@ -170,42 +172,38 @@ public class Robot implements ILaserInteractor, IBoardElement {
      * @return true if Robot has moved, false if not
      */
      public boolean moveAndPush(Robot r, Direction dir) {
-         Position newPos = r.getPos().copyOf();
-         newPos.setDirection(dir);
-         if(map.validMove(newPos)) {
-             newPos.moveInDirection();
-             IBoardElement nextCell = checkContentOfCell(newPos);
-             if (nextCell == null || nextCell instanceof Wall) {
-                 updatePosition(r,dir);
-                 return true;
-             } else if (nextCell instanceof Robot) {
-                 Robot next = (Robot) nextCell;
-                 boolean canMove = moveAndPush(next,dir);
-                 if (canMove) {
-                     updatePosition(r,dir);
-                 }
-                 return canMove;
-             }
+         return moveAndPush(r, dir.getDirEnum());
+     }
+
+    /**
+     * @param r Needed since the method is recursive
+     * @param dir Used to maintain the orientation of the original robot
+     * @return true if Robot has moved, false if not
+     */
+     private boolean moveAndPush(Robot r, DirEnum dir) {
+         MapCellList cells = map.getCellList();
+         int from = cells.index(r.getPos());
+         if(cells.isBlocked(from, dir)) {
              return false;
          }
+         Robot next = map.robotInTile(cells.neighbour(from, dir));
+         if (next == null || moveAndPush(next,dir)) {
+             updatePosition(r,dir);
+             return true;
+         }
          return false;
      }
 
     /**
      * The method that all other move methods should call to change the robots position. <br>
-     * Does not check if the move is valid, but makes sure that map inventory and vector position
+     * Does not check if the move is valid, but makes sure that the occupancy of the map
      * is updated in addition to the players position.
      * @param dir The direction the robot should move
      */
-     private void updatePosition(Robot robot, Direction dir){
-         Position oldPos = robot.getPos().copyOf();
-         Direction old = oldPos.getDirection().copyOf();
-         robot.getPos().setDirection(dir);
-         robot.getPos().moveInDirection();
-         robot.getPos().setDirection(old);
-         map.getCellList().getCell(oldPos).getInventory().getElements().remove(robot);
-         map.getCellList().getCell(robot.getPos()).getInventory().addElement(robot);
-         vectorPos.set(robot.getPos().getXCoordinate(), robot.getPos().getYCoordinate());
+     private void updatePosition(Robot robot, DirEnum dir){
+         int oldIndex = map.getCellList().index(robot.getPos());
+         robot.getPos().step(dir);
+         map.robotMoved(robot, oldIndex);
      }
 
     /**
@@ -215,19 +213,20 @@ public class Robot implements ILaserInteractor, IBoardElement {
      * @return The element found in the cell, either a robot or a wall
      */
     public IBoardElement checkContentOfCell(Position position) {
-        ArrayList<IBoardElement> newCell = map.getCellList().getCell(position).getInventory().getElements();
-        IBoardElement elem = null;
-        for (IBoardElement e : newCell) {
-            if(e instanceof Robot){
-                elem = e;
-            } else if(e instanceof Wall){
-                if(elem == null){
-                    elem = e;
-                }
-
+        Robot robot = map.robotInTile(position);
+        if(robot != null){
+            return robot;
+        }
+        MapCellList cells = map.getCellList();
+        if(cells.getWallMask(cells.index(position)) == 0){
+            return null;
+        }
+        for (IBoardElement e : cells.getCell(position).getInventory().getElements()) {
+            if(e instanceof Wall){
+                return e;
             }
         }
-        return elem;
+        return null;
     }
 
     @Override
@@ -252,19 +251,10 @@ public class Robot implements ILaserInteractor, IBoardElement {
             hasLostLife = true;
             damageTokens = 0;
             isDead = lives <= 0;
-            try {
-                sound.deathSound();
-            } catch (NullPointerException ignored){ // Catch exception for test classes
-
-            }
+            map.getObserver().lifeLost(this, lives);
         } else {
-            try {
-                sound.takeDamage();
-            } catch (NullPointerException ignored){ // Catch exception for test classes
-
-            }
+            map.getObserver().damageTaken(this, damageTokens);
         }
-        CardUI.getInstance().updateDamageTokens(damageTokens);
     }
 
     /**
@@ -278,7 +268,7 @@ public class Robot implements ILaserInteractor, IBoardElement {
         }
 
         for (int i = 0; i<9-damageTokens; i++) {
-            availableCards[i].addCard(Map.getInstance().getDeck().getCard());
+            availableCards[i].addCard(map.getDeck().getCard());
         }
     }
 
@@ -294,9 +284,12 @@ public class Robot implements ILaserInteractor, IBoardElement {
      * @param amount How many damageTokens should be removed
      */
     public void removeDamageTokens(int amount) {
+        int before = damageTokens;
         damageTokens -= amount;
         if (damageTokens < 0) damageTokens = 0;
-        CardUI.getInstance().updateDamageTokens(damageTokens);
+        if (damageTokens != before) {
+            map.getObserver().damageRepaired(this, damageTokens);
+        }
     }
 
     public int getLives() { return lives; }
@@ -319,19 +312,20 @@ public class Robot implements ILaserInteractor, IBoardElement {
 
     /**
      * Sets a new checkpoint for the robot
-     * @param p
+     * @param p Position of the checkpoint, it is copied so later moves don't affect it
      */
     public void setCheckPoint(Position p){
-        this.checkPoint = p;
-        try {
-            sound.checkpoint();
-        } catch (NullPointerException ignored){ // Preventing error in test classes
-
-        }
+        checkPoint.set(p);
+        map.getObserver().checkpointReached(this, p.getXCoordinate(), p.getYCoordinate());
     }
 
+    /**
+     * Puts the robot back on its last checkpoint, keeping the occupancy of the map up to date
+     */
     public void backToCheckPoint(){
-        this.pos = checkPoint;
+        int oldIndex = map.getCellList().index(pos);
+        pos.set(checkPoint);
+        map.robotMoved(this, oldIndex);
     }
 
 
@@ -341,7 +335,10 @@ public class Robot implements ILaserInteractor, IBoardElement {
      */
     public void setPowerDown(boolean powerDown) {
         this.powerDown = powerDown;
-        damageTokens = 0;
+        if (damageTokens != 0) {
+            damageTokens = 0;
+            map.getObserver().damageRepaired(this, 0);
+        }
     }
 
     public void setPowerDownNextRound(boolean powerDownNextRound){
@@ -404,9 +401,129 @@ public class Robot implements ILaserInteractor, IBoardElement {
        return doneProgramming;
     }
 
-    @Override
+    /**
+     * Fires the laser of the robot on the map it belongs to
+     */
     public void fireLaser() {
-        laser.fire();
+        laser.fire(map);
+    }
+
+    @Override
+    public void fireLaser(Map map) {
+        laser.fire(map);
+    }
+
+    /**
+     * Writes where the robot is and how it is doing, everything that changes during a round except the cards
+     * @param state Where to write, {@link #STATE_SIZE} ints from the offset
+     * @param offset First int to write
+     * @return The offset after the state of the robot
+     */
+    public int writeState(int[] state, int offset){
+        state[offset] = pos.getXCoordinate();
+        state[offset + 1] = pos.getYCoordinate();
+        state[offset + 2] = pos.getDirection().getDirEnum().ordinal();
+        state[offset + 3] = damageTokens;
+        state[offset + 4] = lives;
+        state[offset + 5] = (isDead ? DEAD : 0) | (hasLostLife ? LOST_LIFE : 0)
+                | (powerDown ? POWER_DOWN : 0) | (powerDownNextRound ? POWER_DOWN_NEXT_ROUND : 0);
+        state[offset + 6] = lastVisited == null ? 0 : lastVisited.getNum();
+        state[offset + 7] = checkPoint.getXCoordinate();
+        state[offset + 8] = checkPoint.getYCoordinate();
+        state[offset + 9] = checkPoint.getDirection().getDirEnum().ordinal();
+        return offset + STATE_SIZE;
+    }
+
+    /**
+     * Puts the robot back in a state written by {@link #writeState(int[], int)},
+     * keeping the occupancy of the map up to date. The observers of the map are not told
+     * @param state Where to read
+     * @param offset First int to read
+     * @return The offset after the state of the robot
+     */
+    public int readState(int[] state, int offset){
+        int oldIndex = map.getCellList().index(pos);
+        pos.setXCoordinate(state[offset]);
+        pos.setYCoordinate(state[offset + 1]);
+        pos.getDirection().setDirEnum(DirEnum.fromOrdinal(state[offset + 2]));
+        map.robotMoved(this, oldIndex);
+        damageTokens = state[offset + 3];
+        lives = state[offset + 4];
+        int flags = state[offset + 5];
+        isDead = (flags & DEAD) != 0;
+        hasLostLife = (flags & LOST_LIFE) != 0;
+        powerDown = (flags & POWER_DOWN) != 0;
+        powerDownNextRound = (flags & POWER_DOWN_NEXT_ROUND) != 0;
+        int flag = state[offset + 6];
+        if(flag == 0){
+            lastVisited = null;
+        } else if(lastVisited == null || lastVisited.getNum() != flag){
+            lastVisited = new Flag(flag);
+        }
+        checkPoint.setXCoordinate(state[offset + 7]);
+        checkPoint.setYCoordinate(state[offset + 8]);
+        checkPoint.getDirection().setDirEnum(DirEnum.fromOrdinal(state[offset + 9]));
+        return offset + STATE_SIZE;
+    }
+
+    /**
+     * Writes the cards in the registers, which registers are locked and the cards the robot was dealt
+     * @param state Where to write, {@link #CARDS_SIZE} ints from the offset
+     * @param offset First int to write
+     * @return The offset after the cards of the robot
+     */
+    public int writeCards(int[] state, int offset){
+        Arrays.fill(state, offset, offset + CARDS_SIZE, 0);
+        int locks = 0;
+        for(int i = 0; i < programmedCards.length; i++){
+            putCard(state, offset, i, programmedCards[i]);
+            locks |= programmedCards[i].isLocked() ? 1 << i : 0;
+        }
+        for(int i = 0; i < availableCards.length; i++){
+            putCard(state, offset, programmedCards.length + i, availableCards[i]);
+        }
+        state[offset + CARDS_SIZE - 1] = locks;
+        return offset + CARDS_SIZE;
+    }
+
+    /**
+     * Puts back the cards written by {@link #writeCards(int[], int)}
+     * @param state Where to read
+     * @param offset First int to read
+     * @return The offset after the cards of the robot
+     */
+    public int readCards(int[] state, int offset){
+        int locks = state[offset + CARDS_SIZE - 1];
+        for(int i = 0; i < programmedCards.length; i++){
+            takeCard(state, offset, i, programmedCards[i]);
+            if((locks & 1 << i) != 0){
+                programmedCards[i].lockSlot();
+            } else {
+                programmedCards[i].unlockSlot();
+            }
+        }
+        for(int i = 0; i < availableCards.length; i++){
+            takeCard(state, offset, programmedCards.length + i, availableCards[i]);
+        }
+        return offset + CARDS_SIZE;
+    }
+
+    /**
+     * Packs the card of a slot as one byte, 0 for no card and the card id plus one otherwise
+     */
+    private static void putCard(int[] state, int offset, int slotNum, CardSlot slot){
+        int card = slot.hasCard() ? CardDeck.getId(slot.getCard()) + 1 : 0;
+        state[offset + slotNum / 4] |= card << slotNum % 4 * 8;
+    }
+
+    private static void takeCard(int[] state, int offset, int slotNum, CardSlot slot){
+        int card = state[offset + slotNum / 4] >>> slotNum % 4 * 8 & 0xFF;
+        if(slot.hasCard()){
+            slot.removeCard();
+        }
+        if(card != 0){
+            slot.addCard(CardDeck.getCard(card - 1));
+        }
     }
 
     public CardSlot[] getAvailableCards() {
@@ -1,5 +1,6 @@
 package inf112.app.objects;
 import inf112.app.map.Direction;
+import inf112.app.map.Map;
 import inf112.app.map.Position;
 import inf112.app.map.Direction.Rotation;
 
@@ -34,6 +35,13 @@ public class Wall implements IBoardElement, ILaserInteractor {
         return hasLaser;
     }
 
+    /**
+     * @return Copies of the two sides of the cell the wall covers, the same side twice for a single wall
+     */
+    public Direction[] getFacing() {
+        return new Direction[]{facing[0].copyOf(), facing[1].copyOf()};
+    }
+
     /**
      * Checks if the wall is blocking in a particular direction
      * @param currentPos true if the check is made from the current tile, i.e. the tile holding the wall,
@@ -53,7 +61,14 @@ public class Wall implements IBoardElement, ILaserInteractor {
 
     @Override
     public void doAction(Robot robot) {
-        fireLaser();
+        fireLaser(robot.getMap());
+    }
+
+    /**
+     * @return The laser mounted on the wall, null if there is none
+     */
+    public Laser getLaser() {
+        return laser;
     }
 
     public Position getPos(){
@@ -61,9 +76,9 @@ public class Wall implements IBoardElement, ILaserInteractor {
     }
 
     @Override
-    public void fireLaser() {
+    public void fireLaser(Map map) {
         if(hasLaser){
-            laser.fire();
+            laser.fire(map);
         }
     }
 }
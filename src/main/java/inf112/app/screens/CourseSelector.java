@@ -2,9 +2,8 @@ package inf112.app.screens;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Screen;
-import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.OrthographicCamera;
-import com.badlogic.gdx.maps.tiled.renderers.OrthogonalTiledMapRenderer;
+import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.Table;
@@ -21,21 +20,20 @@ import com.kotcrab.vis.ui.widget.VisImageButton;
 import com.kotcrab.vis.ui.widget.VisImageTextButton;
 import com.kotcrab.vis.ui.widget.VisWindow;
 import inf112.app.game.RoboRally;
+import inf112.app.util.Course;
 
-import java.util.Arrays;
-import java.util.LinkedList;
+import java.util.ArrayList;
 
 public class CourseSelector implements Screen {
     private final RoboRally game;
     private final Stage stage;
 
     private final OrthographicCamera mapCamera;
-    private OrthogonalTiledMapRenderer mapRenderer;
 
     private final StretchViewport menuViewport;
     private final Viewport mapViewport;
 
-    private LinkedList<FileHandle> mapList;
+    private ArrayList<Course> mapList;
     private int index;
 
     private VisWindow window;
@@ -44,11 +42,11 @@ public class CourseSelector implements Screen {
         this.game = game;
         this.menuViewport = viewport;
         this.stage = stage;
-        mapList = new LinkedList<>();
-        FileHandle[] files = Gdx.files.internal("assets/Maps").list();
-        mapList.addAll(Arrays.asList(files));
+        mapList = game.courses.getCourses();
 
-        this.index = 0;
+        // Start at the course that is already selected
+        String selected = game.getMapName();
+        this.index = Math.max(0, mapList.indexOf(game.courses.find(selected.substring(selected.lastIndexOf('/') + 1))));
         boolean screenHeightAdjustment = false;
         float heightCenterScale = 2f;
 
@@ -69,9 +67,7 @@ public class CourseSelector implements Screen {
         mapViewport.update(Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
         mapViewport.apply(); // Fit camera to viewport
 
-        mapRenderer = new OrthogonalTiledMapRenderer(game.manager.get("assets/Maps/testMap.tmx"), 1/9f); // Create a renderer for rendering of the
-        // TiledMap
-        mapRenderer.setView(mapCamera);
+        game.thumbnails.get(mapList.get(index)); // Start loading the map if there is no thumbnail yet
     }
 
     @Override
@@ -93,7 +89,7 @@ public class CourseSelector implements Screen {
             @Override
             public void changed (ChangeEvent event, Actor actor) {
                 game.sounds.buttonSound();
-                mapRenderer.setMap(game.manager.get(getPreviousMap()));
+                game.thumbnails.get(getPreviousMap());
             }
         });
 
@@ -102,7 +98,7 @@ public class CourseSelector implements Screen {
             @Override
             public void changed (ChangeEvent event, Actor actor) {
                 game.sounds.buttonSound();
-                mapRenderer.setMap(game.manager.get(getNextMap()));
+                game.thumbnails.get(getNextMap());
             }
         });
 
@@ -153,7 +149,17 @@ public class CourseSelector implements Screen {
 
         stage.act();
         stage.draw();
-        mapRenderer.render();
+
+        // Show the thumbnail of the course, it is made when the map has finished loading
+        game.manager.update();
+        Texture thumbnail = game.thumbnails.get(mapList.get(index));
+        if(thumbnail != null){
+            game.batch.setProjectionMatrix(mapCamera.combined);
+            game.batch.begin();
+            game.batch.draw(thumbnail, 0, 0);
+            game.batch.end();
+            game.batch.setProjectionMatrix(menuViewport.getCamera().combined);
+        }
     }
 
     @Override
@@ -196,27 +202,27 @@ public class CourseSelector implements Screen {
 
     /**
      *
-     * @return The previous map in the map list
+     * @return The previous course in the map list
      */
-    private String getPreviousMap(){
+    private Course getPreviousMap(){
         if (index < 1){
             index = mapList.size()-1;
-            return mapList.get(index).toString();
+            return mapList.get(index);
         }
-        return mapList.get(--index).toString();
+        return mapList.get(--index);
 
     }
 
     /**
      *
-     * @return The next map in the map list
+     * @return The next course in the map list
      */
-    private String getNextMap(){
+    private Course getNextMap(){
         if (index >= mapList.size() - 1){
             index = 0;
-            return mapList.get(index).toString();
+            return mapList.get(index);
         }
-        return mapList.get(++index).toString();
+        return mapList.get(++index);
 
     }
 
@@ -224,6 +230,6 @@ public class CourseSelector implements Screen {
      * Set the course in Game. Uses the current map list index to fetch map name
      */
     private void selectCourse(){
-        game.setMapName("Maps/" + mapList.get(index).nameWithoutExtension());
+        game.setMapName("Maps/" + mapList.get(index).getName());
     }
 }
@@ -1,10 +1,13 @@
 package inf112.app.screens;
 
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
 import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
-import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.maps.tiled.TiledMap;
 import com.badlogic.gdx.maps.tiled.renderers.OrthogonalTiledMapRenderer;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
 import com.badlogic.gdx.scenes.scene2d.Stage;
@@ -16,9 +19,12 @@ import inf112.app.cards.CardDeck;
 import inf112.app.game.*;
 import inf112.app.map.Map;
 import inf112.app.map.Position;
+import inf112.app.objects.LaserBeam;
 import inf112.app.objects.Robot;
 
 import java.util.ArrayList;
+import java.util.List;
+
 
 public class GameScreen implements Screen {
     private final RoboRally game;
@@ -32,22 +38,35 @@ public class GameScreen implements Screen {
     private TiledMapStage tiledStage;
 
     private CardDeck deck;
-    private Rounds currentRound = new Rounds();
+    //The rounds are played by the simulation thread, and shown from its events
+    private EventQueue events = new EventQueue();
+    private Simulation simulation;
+    private PhaseScheduler scheduler;
+    //Toggled with F, the rounds are shown as fast as they are played
+    private boolean fastForward = false;
+    //Sounds, card interface and statistics, told about the events as they are shown
+    private GameObserver observers;
+    private GameStats stats = new GameStats();
 
     private boolean timerRunning = false;
     private Timer timer;
 
-    private final int laserTime = 1;
+    //Seconds the beams of a laser volley are shown
+    private final float laserTime = 0.4f;
+    private float laserShown = 0;
+    private boolean lasersShowing = false;
+    private ArrayList<LaserBeam> phaseBeams = new ArrayList<>();
     private float tileSize = 300f;
     private float cardWidth = 400f;
     private float viewportWidth = 20, viewPortHeight = 20; //cellmap + 5
     private float initialCameraY;
 
     private Map cellMap;
+    private MapGraphics graphics;
+    private CardUI ui;
+    private int shownDamageTokens = 0;
     private Player player;
     private Robot testRobot;
-    private int phaseNum = 6;
-    private boolean ongoingRound = false;
 
     public GameScreen(final RoboRally game, Stage stage, StretchViewport viewport){
         this.game = game;
@@ -55,6 +74,8 @@ public class GameScreen implements Screen {
         this.viewport = viewport;
 
         this.cellMap = Map.getInstance();
+        this.graphics = new MapGraphics(game.manager.get("assets/" + game.getMapName() + ".tmx", TiledMap.class),
+                game.manager.get("assets/Lasers.tmx", TiledMap.class));
         game.manager.unload(game.getMapName());
         game.manager.unload("assets/Lasers.tmx");
 
@@ -68,15 +89,33 @@ public class GameScreen implements Screen {
         uiCam = new OrthographicCamera();
 
         //Initialize frame around board
-        CardUI ui = CardUI.getInstance();
+        ui = new CardUI(game.manager.get("assets/GameButtons/Buttons.tmx", TiledMap.class));
         ui.initializeCardSlots(game.getPlayer());
         ui.initializeDamageTokens();
 
-        //Create and shuffle deck
-        deck = game.manager.get("deck");
-        game.manager.unload("deck");
+        //The deck of the map is shuffled by the seed of the match
+        deck = cellMap.getDeck();
+        observers = GameObserver.both(new GameSounds(game.manager), GameObserver.both(new GameObserver() {
+            @Override
+            public void damageTaken(Robot robot, int damageTokens) {
+                showDamageTokens(robot, damageTokens);
+            }
 
-        cellMap.setDeck(deck);
+            @Override
+            public void damageRepaired(Robot robot, int damageTokens) {
+                showDamageTokens(robot, damageTokens);
+            }
+
+            @Override
+            public void lifeLost(Robot robot, int lives) {
+                showDamageTokens(robot, 0);
+            }
+        }, stats));
+        simulation = new Simulation(cellMap, events);
+        simulation.setLog(new MatchLog(Gdx.files.local("logs/" + new FileHandle(game.getMapName()).name()
+                + "-" + System.currentTimeMillis() + MatchLog.EXTENSION), game.getMapName(), cellMap));
+        scheduler = new PhaseScheduler(new EventPlayback(events, this::showEvent));
+        simulation.start();
         //Cards for testing
         for(int i = 0; i<9; i++){
             ui.addCardToSlot(deck.getCard(),"side",i);
@@ -93,7 +132,7 @@ public class GameScreen implements Screen {
         camera.update();
 
         //Initialize clicklistener
-        tiledStage = new TiledMapStage(game);
+        tiledStage = new TiledMapStage(game, ui);
 
         tiledStage.addListener(new ClickListener() {
             @Override
@@ -103,7 +142,7 @@ public class GameScreen implements Screen {
         });
 
         //Initializing renderers
-        mapRenderer = new OrthogonalTiledMapRenderer(cellMap.getMap(),1/tileSize);
+        mapRenderer = new OrthogonalTiledMapRenderer(graphics.getMap(),1/tileSize);
         mapRenderer.setView(camera);
         uiRenderer = new OrthogonalTiledMapRenderer(ui.getTiles(), (1/cardWidth));
         uiRenderer.setView(uiCam);
@@ -134,10 +173,31 @@ public class GameScreen implements Screen {
         camera.update();
         uiCam.update();
 
-        updateRobots();
+        if(scheduler.isRoundOngoing()){
+            //The robots belong to the simulation, they are only shown from its events
+            graphics.setProgress(scheduler.getMoveProgress());
+        } else {
+            updateRobots();
+            updateDamageTokens();
+            ui.updateCards();
+            if(cellMap.lasersActive() && cellMap.getLaserTimer() == 0){
+                //Fired from the keyboard, the lasers of the rounds come as events
+                showLasers(cellMap.getLaserBeams());
+                cellMap.incrementLaserTimer();
+            }
+        }
 
         uiRenderer.render();
-        mapRenderer.render();
+        //The beams go where the Laser layer is, under the walls and the robots
+        Batch mapBatch = mapRenderer.getBatch();
+        mapRenderer.render(graphics.getLayersBelowLasers());
+        mapBatch.begin();
+        graphics.drawLasers(mapBatch);
+        mapBatch.end();
+        mapRenderer.render(graphics.getLayersAboveLasers());
+        mapBatch.begin();
+        graphics.drawMovingRobots(mapBatch);
+        mapBatch.end();
 
         tiledStage.act();
 
@@ -153,57 +213,110 @@ public class GameScreen implements Screen {
         stage.act();
         stage.draw();
 
-        //Remove previous robot positions
-        cellMap.clearLayer(cellMap.getLayer("player"));
-
-        if(cellMap.getLaserTimer() == laserTime) {
-            cellMap.deactivateLasers();
-        }
-        if(cellMap.lasersActive()){
-            cellMap.incrementLaserTimer();
+        if(lasersShowing){
+            laserShown += v;
+            if(laserShown >= laserTime) {
+                lasersShowing = false;
+                graphics.clearLasers();
+                if(!scheduler.isRoundOngoing()){
+                    cellMap.deactivateLasers();
+                }
+            }
         }
 
-        if(cellMap.checkForTimerActivation() && !timerRunning){
-            timerRunning = true;
-            timer.start();
+        if(!scheduler.isRoundOngoing()){
+            if(cellMap.checkForTimerActivation() && !timerRunning){
+                timerRunning = true;
+                timer.start();
+            }
+            if(cellMap.checkIfAllRobotsReady() || timer.done){
+                cellMap.resetDoneProgramming();
+                timerRunning = false;
+                timer.done = false;
+                //No input until the simulation hands the robots back
+                Gdx.input.setInputProcessor(null);
+                simulation.startRound();
+                scheduler.startRound();
+            }
         }
-        if(cellMap.checkIfAllRobotsReady() || timer.done){
-            ongoingRound = true;
-            phaseNum = 1;
-            currentRound.putBackPlayers();
-            cellMap.resetDoneProgramming();
-            timerRunning = false;
-            timer.done = false;
+        if(Gdx.input.isKeyJustPressed(Input.Keys.F)){
+            fastForward = !fastForward;
         }
-        if(ongoingRound){
-            if(phaseNum > 5){
-                ongoingRound = false;
-                currentRound.dealCards();
-            } else {
-                currentRound.doPhase(phaseNum);
-                phaseNum++;
-                try {
-                    Thread.sleep(500);
-                } catch (InterruptedException e) {
-                    System.out.println(e.getMessage());
+        //Without a robot of its own the player only watches the bots, so there is nothing to wait for
+        scheduler.setFastForward(fastForward || player.getCharacter().isDead());
+        scheduler.update(v);
+    }
+
+    /**
+     * Shows an event from the simulation, called by the scheduler one phase at a time
+     * @param event The event to show
+     */
+    private void showEvent(GameEvent event){
+        switch(event.getType()){
+            case MOVED:
+                graphics.moveRobot(event.getRobot(), event.getX(), event.getY(), event.getDirection(), true);
+                break;
+            case LASER:
+                phaseBeams.add(event.getBeam());
+                break;
+            case DAMAGE:
+                observers.damageTaken(event.getRobot(), event.getValue());
+                break;
+            case REPAIRED:
+                observers.damageRepaired(event.getRobot(), event.getValue());
+                break;
+            case LIFE_LOST:
+                observers.lifeLost(event.getRobot(), event.getValue());
+                break;
+            case CHECKPOINT:
+                observers.checkpointReached(event.getRobot(), event.getX(), event.getY());
+                break;
+            case PHASE_DONE:
+                if(!phaseBeams.isEmpty()){
+                    showLasers(phaseBeams);
+                    observers.lasersFired(phaseBeams);
+                    phaseBeams.clear();
                 }
-            }
+                break;
+            case ROUND_DONE:
+                Gdx.input.setInputProcessor(tiledStage);
+                break;
+            default:
+                //Flags and new cards are shown from the robots once the round is done
+                break;
         }
+    }
 
+    /**
+     * Draws the beams of a laser volley, they are removed again after the laser time
+     * @param beams The beams to draw
+     */
+    private void showLasers(List<LaserBeam> beams){
+        graphics.showLasers(beams);
+        laserShown = 0;
+        lasersShowing = true;
     }
 
-    private void updateRobot(Robot robot){
-        int robotX = robot.getPos().getXCoordinate();
-        int robotY = robot.getPos().getYCoordinate();
-        TiledMapTileLayer robotLayer = cellMap.getLayer("player");
-
-        //Setting player sprite to current position
-        robotLayer.setCell(robotX, robotY, robot.getNormal());
-        //Checking if player is touching hole or flag
-        if(cellMap.getLayer("hole").getCell(robotX, robotY) != null){
-            robotLayer.setCell(robotX, robotY, robot.getLooser());
-        } else if(cellMap.getLayer("flag").getCell(robotX, robotY) != null) {
-            robotLayer.setCell(robotX, robotY, robot.getWinner());
+    /**
+     * Shows the damage tokens in the card interface if the robot is the player's
+     * @param robot The robot whose damage tokens changed
+     * @param tokens The damage tokens it has now
+     */
+    private void showDamageTokens(Robot robot, int tokens){
+        if(robot == player.getCharacter()){
+            ui.updateDamageTokens(tokens);
+            shownDamageTokens = tokens;
+        }
+    }
+
+    /**
+     * Shows the damage tokens of the player in the card interface when they have changed
+     */
+    private void updateDamageTokens(){
+        int tokens = player.getCharacter().getDamageTokens();
+        if(tokens != shownDamageTokens){
+            ui.updateDamageTokens(tokens);
+            shownDamageTokens = tokens;
         }
     }
 
@@ -238,16 +351,21 @@ public class GameScreen implements Screen {
 
     @Override
     public void dispose() {
+        //Also closes the match log
+        simulation.stop();
+        Gdx.app.log("GameStats", stats.toString());
         tiledStage.dispose();
         game.batch.dispose();
         uiRenderer.dispose();
         mapRenderer.dispose();
+        ui.dispose();
     }
 
+    /**
+     * Draws the robots that moved or turned since the last frame,
+     * sliding them to their new cells during the phases
+     */
     public void updateRobots(){
-        ArrayList<Robot> list = cellMap.getRobotList();
-        for(Robot r : list){
-            updateRobot(r);
-        }
+        graphics.updateRobots(cellMap.getRobotList(), scheduler.getMoveProgress());
     }
 }
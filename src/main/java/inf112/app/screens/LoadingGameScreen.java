@@ -2,15 +2,15 @@ package inf112.app.screens;
 
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.assets.loaders.resolvers.InternalFileHandleResolver;
+import com.badlogic.gdx.maps.tiled.TiledMap;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.viewport.StretchViewport;
 import com.kotcrab.vis.ui.widget.VisLabel;
 import com.kotcrab.vis.ui.widget.VisTable;
-import inf112.app.cards.CardDeck;
 import inf112.app.game.RoboRally;
 import inf112.app.map.Map;
-import inf112.app.util.CardDeckLoader;
+import inf112.app.util.Course;
 import inf112.app.util.MapLoader;
 
 public class LoadingGameScreen implements Screen {
@@ -24,12 +24,16 @@ public class LoadingGameScreen implements Screen {
         this.game = game;
         this.viewport = viewport;
         this.stage = stage;
+        // Load the board graphics of the course, and keep them while the game is played
+        String mapName = game.getMapName();
+        Course course = game.courses.find(mapName.substring(mapName.lastIndexOf('/') + 1));
+        game.courses.pin(course);
+        if(course == null){
+            game.manager.load("assets/" + mapName + ".tmx", TiledMap.class);
+        }
         // Load the map in the background
-        game.manager.setLoader(Map.class, new MapLoader(new InternalFileHandleResolver(), this.game));
+        game.manager.setLoader(Map.class, new MapLoader(new InternalFileHandleResolver()));
         game.manager.load(game.getMapName(), Map.class);
-        // Load the deck in the background
-        game.manager.setLoader(CardDeck.class, new CardDeckLoader(new InternalFileHandleResolver()));
-        game.manager.load("deck",CardDeck.class);
 
     }
 
@@ -2,12 +2,9 @@ package inf112.app.screens;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Screen;
-import com.badlogic.gdx.assets.loaders.resolvers.InternalFileHandleResolver;
 import com.badlogic.gdx.audio.Sound;
-import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.maps.tiled.TiledMap;
-import com.badlogic.gdx.maps.tiled.TmxMapLoader;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.Skin;
 import com.badlogic.gdx.utils.Align;
@@ -39,15 +36,7 @@ public class LoadingMenuScreen implements Screen {
         } catch (GdxRuntimeException ignored){
 
         }
-        // Load all maps into the AssetManager
-        game.manager.setLoader(TiledMap.class, new TmxMapLoader(new InternalFileHandleResolver()));
-        FileHandle files = Gdx.files.internal("assets/Maps");
-        assert files.exists();
-        for (FileHandle file : files.list()){
-            if(file.name().endsWith(".tmx")){
-                game.manager.load(file.toString(), TiledMap.class);
-            }
-        }
+        // The maps of the courses are loaded by the CourseLibrary when they are shown
         // Load the LaserSprite into the AssetManager
         // to optimize loading time in LoadingGameScreen
         game.manager.load("assets/CardUI2.tmx", TiledMap.class);
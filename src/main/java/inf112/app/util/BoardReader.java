@@ -0,0 +1,96 @@
+package inf112.app.util;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.XmlReader;
+import com.badlogic.gdx.utils.XmlReader.Element;
+import inf112.app.map.MapCellList;
+
+/**
+ * Reads a .tmx course straight from the XML into a {@link MapCellList}.
+ * Unlike the TmxMapLoader this never loads the tileset image,
+ * so boards can be built without a GL context (tests, bots, simulations).
+ */
+public class BoardReader {
+    // Tiled stores flipping in the highest bits of the gid
+    private static final int FLIP_MASK = 0xE0000000;
+
+    private XmlReader xml;
+
+    public BoardReader(){
+        xml = new XmlReader();
+    }
+
+    /**
+     * Parses the map and the tilesets it references
+     * @param pathToMap Path to the .tmx file, relative to the working directory
+     * @return The cells of the map with all the board elements filled in
+     */
+    public MapCellList read(String pathToMap){
+        FileHandle tmxFile = new FileHandle(pathToMap);
+        Element root = xml.parse(tmxFile);
+        int width = root.getIntAttribute("width");
+        int height = root.getIntAttribute("height");
+
+        MapCellList cellList = new MapCellList(width, height, readTilesets(root, tmxFile));
+        for(Element layer : root.getChildrenByName("layer")){
+            String name = layer.getAttribute("name");
+            int[] ids = readLayerData(layer, width, height);
+            for(int row = 0; row < height; row++){
+                for(int x = 0; x < width; x++){
+                    int id = ids[row * width + x] & ~FLIP_MASK;
+                    if(id == 0){
+                        continue;
+                    }
+                    //Tiled counts rows from the top, the game counts from the bottom
+                    cellList.placeTile(name, x, height - 1 - row, id);
+                }
+            }
+        }
+        return cellList;
+    }
+
+    /**
+     * Finds the tiles of the tilesets the map uses. A single .tsx tileset is only read
+     * the first time any map uses it, the registry is shared after that
+     * @param root The map element
+     * @param tmxFile The .tmx file, tileset sources are relative to it
+     * @return Registry with every tile of the tilesets
+     */
+    private TileRegistry readTilesets(Element root, FileHandle tmxFile){
+        Array<Element> tilesets = root.getChildrenByName("tileset");
+        if(tilesets.size == 1 && tilesets.first().getAttribute("source", null) != null){
+            Element tileset = tilesets.first();
+            return TileRegistry.forTileset(tmxFile.parent().child(tileset.getAttribute("source")),
+                    tileset.getIntAttribute("firstgid", 1));
+        }
+        TileRegistry registry = new TileRegistry();
+        for(Element tileset : tilesets){
+            String source = tileset.getAttribute("source", null);
+            Element tilesetRoot = source == null ? tileset : xml.parse(tmxFile.parent().child(source));
+            registry.registerTileset(tilesetRoot, tileset.getIntAttribute("firstgid", 1));
+        }
+        return registry;
+    }
+
+    /**
+     * Reads the csv encoded tile ids of a layer
+     * @param layer The layer element
+     * @param width Width of the map
+     * @param height Height of the map
+     * @return The global tile ids, row by row from the top
+     */
+    private int[] readLayerData(Element layer, int width, int height){
+        Element data = layer.getChildByName("data");
+        if(!"csv".equals(data.getAttribute("encoding", null))){
+            throw new IllegalArgumentException("Only csv encoded layers are supported. Layer: "
+                    + layer.getAttribute("name"));
+        }
+        int[] ids = new int[width * height];
+        String[] values = data.getText().split(",");
+        for(int i = 0; i < ids.length; i++){
+            ids[i] = (int) Long.parseLong(values[i].trim());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,89 @@
+package inf112.app.util;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * What the menus need to know about a course, without loading the map. <br>
+ * Only the opening map tag of the .tmx file is read.
+ */
+public class Course {
+    private static final Pattern ATTRIBUTE = Pattern.compile("(\\w+)=\"([^\"]*)\"");
+
+    private final String name;
+    private final String path;
+    private final int width;
+    private final int height;
+
+    /**
+     * @param name Name of the course, the file name without extension
+     * @param path Path to the .tmx file, used as the AssetManager key
+     * @param width Width of the board in tiles
+     * @param height Height of the board in tiles
+     */
+    public Course(String name, String path, int width, int height){
+        this.name = name;
+        this.path = path;
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Reads the size of the board from the start of the file
+     * @param file The .tmx file of the course
+     * @return The course
+     */
+    public static Course read(FileHandle file){
+        try (BufferedReader reader = file.reader(64, "UTF-8")) {
+            String line;
+            while((line = reader.readLine()) != null){
+                if(!line.contains("<map ")){
+                    continue;
+                }
+                int width = -1;
+                int height = -1;
+                Matcher matcher = ATTRIBUTE.matcher(line);
+                while(matcher.find()){
+                    if("width".equals(matcher.group(1))){
+                        width = Integer.parseInt(matcher.group(2));
+                    } else if("height".equals(matcher.group(1))){
+                        height = Integer.parseInt(matcher.group(2));
+                    }
+                }
+                if(width < 0 || height < 0){
+                    break;
+                }
+                return new Course(file.nameWithoutExtension(), file.path(), width, height);
+            }
+        } catch (IOException e){
+            throw new GdxRuntimeException("Could not read course: " + file.path(), e);
+        }
+        throw new IllegalArgumentException("Not a map with a size: " + file.path());
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public String toString() {
+        return path;
+    }
+}
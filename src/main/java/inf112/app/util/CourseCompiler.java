@@ -0,0 +1,301 @@
+package inf112.app.util;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.XmlReader;
+import com.badlogic.gdx.utils.XmlReader.Element;
+import inf112.app.map.Direction;
+import inf112.app.map.Direction.Rotation;
+import inf112.app.map.MapCellList;
+import inf112.app.objects.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.zip.CRC32;
+
+/**
+ * Compiles .tmx courses into a small binary file next to them, and builds boards from those files. <br>
+ * The file holds the elements of every cell with their settings already decoded,
+ * so loading it needs no XML, no tileset and no property lookups.
+ * It also holds a checksum of the .tmx file and of every tileset it uses.
+ * If any of them changed, the course is read from the .tmx file again and compiled anew. <br>
+ * Run {@link #main(String[])} to compile all the courses in a folder ahead of time.
+ */
+public class CourseCompiler {
+    public static final String EXTENSION = ".course";
+    // "RRCF", Robo Rally course file
+    private static final int MAGIC = 0x52524346;
+    // Change when the layout of the file changes, older files are then compiled again
+    private static final int VERSION = 1;
+
+    private static final byte WALL = 1;
+    private static final byte CONVEYOR = 2;
+    private static final byte COG = 3;
+    private static final byte FLAG = 4;
+    private static final byte REPAIR_STATION = 5;
+    private static final Rotation[] ROTATIONS = Rotation.values();
+
+    /**
+     * Compiles every .tmx file in the folders
+     * @param args Folders with courses, assets/Maps if none are given
+     */
+    public static void main(String[] args){
+        String[] folders = args.length == 0 ? new String[]{"assets/Maps"} : args;
+        for(String folder : folders){
+            for(FileHandle file : new FileHandle(folder).list(".tmx")){
+                compile(file.path());
+                System.out.println("Compiled " + file.path());
+            }
+        }
+    }
+
+    /**
+     * Loads a course, from the compiled file if it is up to date.
+     * Otherwise the .tmx file is read and compiled, so the next load is fast
+     * @param pathToMap Path to the .tmx file, relative to the working directory
+     * @return The cells of the map with all the board elements filled in
+     */
+    public static MapCellList load(String pathToMap){
+        MapCellList cells = read(pathToMap);
+        if(cells != null){
+            return cells;
+        }
+        cells = new BoardReader().read(pathToMap);
+        try {
+            write(pathToMap, cells);
+        } catch (GdxRuntimeException e){
+            //The course still works, it is just read from the .tmx file next time too
+            System.out.println("Could not compile course: " + e.getMessage());
+        }
+        return cells;
+    }
+
+    /**
+     * Reads the .tmx file and writes the compiled file next to it
+     * @param pathToMap Path to the .tmx file
+     */
+    public static void compile(String pathToMap){
+        write(pathToMap, new BoardReader().read(pathToMap));
+    }
+
+    /**
+     * @param pathToMap Path to the .tmx file
+     * @return The compiled file of the course
+     */
+    public static FileHandle compiledFile(String pathToMap){
+        FileHandle tmxFile = new FileHandle(pathToMap);
+        return tmxFile.sibling(tmxFile.nameWithoutExtension() + EXTENSION);
+    }
+
+    /**
+     * Builds the board from the compiled file. The file is small, so it is read into memory instead of
+     * being memory mapped, a mapping would keep the file open and stop it from being compiled again on some systems
+     * @param pathToMap Path to the .tmx file the course was compiled from
+     * @return The cells of the map, null if there is no compiled file or it is out of date
+     */
+    public static MapCellList read(String pathToMap){
+        FileHandle file = compiledFile(pathToMap);
+        if(!file.exists()){
+            return null;
+        }
+        try {
+            //The file is written with DataOutputStream, which is big endian
+            ByteBuffer buffer = ByteBuffer.wrap(file.readBytes()).order(ByteOrder.BIG_ENDIAN);
+            if(buffer.getInt() != MAGIC || buffer.getInt() != VERSION){
+                return null;
+            }
+            FileHandle tmxFile = new FileHandle(pathToMap);
+            int sources = buffer.get();
+            for(int i = 0; i < sources; i++){
+                FileHandle source = tmxFile.parent().child(readString(buffer));
+                if(!source.exists() || buffer.getLong() != checksum(source)){
+                    return null;
+                }
+            }
+            return readCells(buffer);
+        } catch (GdxRuntimeException | BufferUnderflowException | IllegalArgumentException e){
+            return null;
+        }
+    }
+
+    /**
+     * @param buffer The file, after the header
+     * @return The cells with the elements and starting platforms placed
+     */
+    private static MapCellList readCells(ByteBuffer buffer){
+        int width = buffer.getShort();
+        int height = buffer.getShort();
+        MapCellList cells = new MapCellList(width, height);
+        int elements = buffer.getInt();
+        for(int i = 0; i < elements; i++){
+            byte type = buffer.get();
+            int index = buffer.getShort() & 0xFFFF;
+            int x = index % width;
+            int y = index / width;
+            cells.place(x, y, readElement(type, buffer, x, y));
+        }
+        int starts = buffer.get();
+        for(int i = 0; i < starts; i++){
+            int number = buffer.get();
+            cells.setStart(number, buffer.getShort() & 0xFFFF);
+        }
+        return cells;
+    }
+
+    private static IBoardElement readElement(byte type, ByteBuffer buffer, int x, int y){
+        switch(type){
+            case WALL:
+                int face0 = buffer.get() * 90;
+                int face1 = buffer.get() * 90;
+                byte laser = buffer.get();
+                return new Wall(face0, face1, laser != 0, laser == 2, x, y);
+            case CONVEYOR:
+                int entry0 = buffer.get() * 90;
+                int entry1 = buffer.get() * 90;
+                int exit = buffer.get() * 90;
+                return new Conveyor(entry0, entry1, exit, buffer.get());
+            case COG:
+                return new Cog(ROTATIONS[buffer.get()]);
+            case FLAG:
+                return new Flag(buffer.get());
+            case REPAIR_STATION:
+                return new RepairStation(buffer.get());
+            default:
+                throw new IllegalArgumentException("Unknown element type in course file: " + type);
+        }
+    }
+
+    /**
+     * Writes the compiled file of a course
+     * @param pathToMap Path to the .tmx file the cells were read from
+     * @param cells The cells of the course
+     */
+    public static void write(String pathToMap, MapCellList cells){
+        FileHandle tmxFile = new FileHandle(pathToMap);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            ArrayList<String> sources = sources(tmxFile);
+            out.writeByte(sources.size());
+            for(String source : sources){
+                byte[] name = source.getBytes(StandardCharsets.UTF_8);
+                out.writeShort(name.length);
+                out.write(name);
+                out.writeLong(checksum(tmxFile.parent().child(source)));
+            }
+
+            int width = cells.getSizeX();
+            out.writeShort(width);
+            out.writeShort(cells.getSizeY());
+            ByteArrayOutputStream elementBytes = new ByteArrayOutputStream();
+            DataOutputStream elementOut = new DataOutputStream(elementBytes);
+            int elements = 0;
+            for(int index = 0; index < width * cells.getSizeY(); index++){
+                for(IBoardElement element : cells.getCell(index).getInventory().getElements()){
+                    if(writeElement(elementOut, index, element)){
+                        elements++;
+                    }
+                }
+            }
+            out.writeInt(elements);
+            elementBytes.writeTo(out);
+
+            int starts = 0;
+            for(int number = 1; number <= MapCellList.MAX_STARTS; number++){
+                starts += cells.getStart(number) == -1 ? 0 : 1;
+            }
+            out.writeByte(starts);
+            for(int number = 1; number <= MapCellList.MAX_STARTS; number++){
+                if(cells.getStart(number) != -1){
+                    out.writeByte(number);
+                    out.writeShort(cells.getStart(number));
+                }
+            }
+        } catch (IOException e){
+            throw new GdxRuntimeException("Could not compile course: " + pathToMap, e);
+        }
+        compiledFile(pathToMap).writeBytes(bytes.toByteArray(), false);
+    }
+
+    /**
+     * @param out Where to write the element
+     * @param index Index of the cell holding the element
+     * @param element The element to write
+     * @return false if the element has no game logic that needs to be stored
+     */
+    private static boolean writeElement(DataOutputStream out, int index, IBoardElement element) throws IOException {
+        if(element instanceof Wall){
+            Wall wall = (Wall) element;
+            Direction[] facing = wall.getFacing();
+            out.writeByte(WALL);
+            out.writeShort(index);
+            out.writeByte(facing[0].getAngleDeg() / 90);
+            out.writeByte(facing[1].getAngleDeg() / 90);
+            out.writeByte(!wall.isLaser() ? 0 : wall.getLaser().isDouble() ? 2 : 1);
+        } else if(element instanceof Conveyor){
+            Conveyor conveyor = (Conveyor) element;
+            Direction[] entries = conveyor.getEntries();
+            out.writeByte(CONVEYOR);
+            out.writeShort(index);
+            out.writeByte(entries[0].getAngleDeg() / 90);
+            out.writeByte(entries[1].getAngleDeg() / 90);
+            out.writeByte(conveyor.getExit().getAngleDeg() / 90);
+            out.writeByte(conveyor.getSpeed());
+        } else if(element instanceof Cog){
+            out.writeByte(COG);
+            out.writeShort(index);
+            out.writeByte(((Cog) element).getRotation().ordinal());
+        } else if(element instanceof Flag){
+            out.writeByte(FLAG);
+            out.writeShort(index);
+            out.writeByte(((Flag) element).getNum());
+        } else if(element instanceof RepairStation){
+            out.writeByte(REPAIR_STATION);
+            out.writeShort(index);
+            out.writeByte(((RepairStation) element).getRepairSpeed());
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * @param tmxFile The .tmx file
+     * @return The .tmx file and the tilesets it uses, relative to the folder of the .tmx file
+     */
+    private static ArrayList<String> sources(FileHandle tmxFile){
+        ArrayList<String> sources = new ArrayList<>();
+        sources.add(tmxFile.name());
+        Element root = new XmlReader().parse(tmxFile);
+        for(Element tileset : root.getChildrenByName("tileset")){
+            String source = tileset.getAttribute("source", null);
+            if(source != null){
+                sources.add(source);
+            }
+        }
+        return sources;
+    }
+
+    /**
+     * @param file The file
+     * @return CRC32 of the whole file
+     */
+    static long checksum(FileHandle file){
+        CRC32 crc = new CRC32();
+        crc.update(file.readBytes());
+        return crc.getValue();
+    }
+
+    private static String readString(ByteBuffer buffer){
+        byte[] chars = new byte[buffer.getShort()];
+        buffer.get(chars);
+        return new String(chars, StandardCharsets.UTF_8);
+    }
+}
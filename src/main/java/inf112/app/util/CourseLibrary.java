@@ -0,0 +1,147 @@
+package inf112.app.util;
+
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.resolvers.InternalFileHandleResolver;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TmxMapLoader;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * All the courses in the maps folder. <br>
+ * At startup only the name and size of every course is read. The TiledMaps, with their tile textures,
+ * are loaded through the AssetManager when a course is previewed or played.
+ * When more than a few maps are resident, the least recently used one is unloaded again.
+ * The course being played is pinned, so it is never unloaded under the game.
+ */
+public class CourseLibrary {
+    public static final int MAX_RESIDENT = 3;
+
+    private AssetManager manager;
+    private ArrayList<Course> courses;
+    private int maxResident;
+    //Maps that are loaded or loading, least recently used first
+    private LinkedHashMap<String, Course> resident;
+    private String pinned;
+
+    /**
+     * @param manager The AssetManager the maps are loaded with
+     * @param folder Folder with the .tmx files of the courses
+     */
+    public CourseLibrary(AssetManager manager, FileHandle folder){
+        this(manager, folder, MAX_RESIDENT);
+    }
+
+    /**
+     * @param manager The AssetManager the maps are loaded with
+     * @param folder Folder with the .tmx files of the courses
+     * @param maxResident How many maps can be loaded at the same time
+     */
+    public CourseLibrary(AssetManager manager, FileHandle folder, int maxResident){
+        if(maxResident < 1){
+            throw new IllegalArgumentException("At least one map must fit in memory");
+        }
+        this.manager = manager;
+        this.maxResident = maxResident;
+        manager.setLoader(TiledMap.class, new TmxMapLoader(new InternalFileHandleResolver()));
+        resident = new LinkedHashMap<>(16, 0.75f, true);
+        courses = new ArrayList<>();
+        for(FileHandle file : folder.list()){
+            if(file.name().endsWith(".tmx")){
+                courses.add(Course.read(file));
+            }
+        }
+    }
+
+    public ArrayList<Course> getCourses() {
+        return courses;
+    }
+
+    /**
+     * @param name Name of the course, without folder and extension
+     * @return The course, or null if there is no course with that name
+     */
+    public Course find(String name){
+        for(Course course : courses){
+            if(course.getName().equals(name)){
+                return course;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Starts loading the map of the course in the background, if it isn't loaded already.
+     * The AssetManager has to be updated for the loading to finish
+     * @param course The course that is about to be shown
+     */
+    public void request(Course course){
+        if(resident.get(course.getPath()) == null){
+            manager.load(course.getPath(), TiledMap.class);
+            resident.put(course.getPath(), course);
+        }
+        evict(course.getPath());
+    }
+
+    /**
+     * @param course The course to get the map of
+     * @return The map of the course, null if it isn't requested or hasn't finished loading
+     */
+    public TiledMap getMap(Course course){
+        //Looking the course up marks it as recently used
+        if(resident.get(course.getPath()) == null || !manager.isLoaded(course.getPath(), TiledMap.class)){
+            return null;
+        }
+        return manager.get(course.getPath(), TiledMap.class);
+    }
+
+    /**
+     * Loads the map of the course, and waits for it to finish loading
+     * @param course The course to load
+     * @return The map of the course
+     */
+    public TiledMap load(Course course){
+        request(course);
+        return manager.finishLoadingAsset(course.getPath());
+    }
+
+    /**
+     * Keeps the map of the course loaded until another course is pinned. Used for the course being played
+     * @param course The course to keep, null to let every map be unloaded
+     */
+    public void pin(Course course){
+        pinned = course == null ? null : course.getPath();
+        if(course != null){
+            request(course);
+        }
+    }
+
+    /**
+     * @param course The course to check
+     * @return True if the map of the course is loaded or loading
+     */
+    public boolean isResident(Course course){
+        return resident.containsKey(course.getPath());
+    }
+
+    /**
+     * Unloads the least recently used maps until no more than the maximum are resident
+     * @param requested The map that was just requested, which is kept
+     */
+    private void evict(String requested){
+        Iterator<String> paths = resident.keySet().iterator();
+        int count = resident.size();
+        while(count > maxResident && paths.hasNext()){
+            String path = paths.next();
+            if(path.equals(pinned) || path.equals(requested)){
+                continue;
+            }
+            paths.remove();
+            manager.unload(path);
+            count--;
+        }
+    }
+}
@@ -1,59 +1,81 @@
 package inf112.app.util;
 
 /**
- * IDTranslator checks id and matches it with the right ElementEnum
+ * IDTranslator checks id and matches it with the right ElementEnum. <br>
+ * Only used for tilesets whose tiles have no type, tiles.tsx names the element of every tile itself.
+ * The id ranges of every element are listed in {@link ElemEnum},
+ * and are put in a table indexed by tile id once, so a lookup is a single array read.
  */
 public class IDTranslator{
+    private static final ElemEnum[] TABLE;
+
+    static {
+        int size = 0;
+        for(ElemEnum elem : ElemEnum.values()){
+            for(int i = 1; i < elem.ranges.length; i += 2){
+                size = Math.max(size, elem.ranges[i] + 1);
+            }
+        }
+        TABLE = new ElemEnum[size];
+        for(ElemEnum elem : ElemEnum.values()){
+            for(int i = 0; i < elem.ranges.length; i += 2){
+                for(int id = elem.ranges[i]; id <= elem.ranges[i + 1]; id++){
+                    if(TABLE[id] != null){
+                        throw new IllegalStateException("Tile " + id + " is both " + TABLE[id] + " and " + elem);
+                    }
+                    TABLE[id] = elem;
+                }
+            }
+        }
+    }
+
     public ElemEnum findNameFromId(int id){
-        if (id == 5) {
-            return ElemEnum.BOARD;
-        } else if (id == 6 || id == 91 || id == 92 || (id >= 105 && id <= 110) || (id >= 113 && id <= 118)) {
-            return ElemEnum.HOLE;
-        } else if (id == 7 || id == 15) {
-            return ElemEnum.REPAIRSTATION;
-        }  else if ((id >= 9 && id <= 12)) {
-            return ElemEnum.PUSHPANEL;
-        }  else if (id == 8 || id == 16 || id == 23 || id == 24 || (id >= 29 && id <= 32) ||
-                id == 37 || id == 38 || id == 45 || id == 46 || id == 87 || (id >= 93 && id <= 95)) {
-            return ElemEnum.WALL;
-        } else if (id == 13 || id == 14 || (id >= 17 && id <= 22) || (id >= 25 && id <= 28) || (id >= 73 && id <= 78) ||
-                (id >= 81 && id <= 86)) {
-            return ElemEnum.BELTX2;
-        } else if ((id >= 33 && id <= 36) || (id >= 41 && id <= 44) || (id >= 49 && id <= 52) ||
-                (id >= 57 && id <= 62) || (id >= 65 && id <= 70)) {
-            return ElemEnum.BELTX1;
-        } else if (id == 39 || id == 40 || id == 47 || (id >= 101 && id <= 103)) {
-            return ElemEnum.LASER;
-        } else if (id == 53 || id == 54) {
-            return ElemEnum.COG;
-        } else if (id == 55 || id == 63 || id == 71 || id == 79) {
-            return ElemEnum.FLAG;
-        } else if (id == 89 || id == 90) {
-            return ElemEnum.FIREPIT;
-        } else if ((id >= 97 && id <= 100)) {
-            return ElemEnum.FLAGPLATFORM;
-        } else if ((id >= 121 && id <= 124) || (id >= 129 && id <= 132)) {
-            return ElemEnum.STARTINGPLATFORM;
+        if(id >= 0 && id < TABLE.length && TABLE[id] != null){
+            return TABLE[id];
         }
         throw new IllegalArgumentException("ID range not valid. ID: " + id);
     }
 
     /**
-     * Here we label the tiles found in /assets/tiles.png to names
+     * Here we label the tiles found in /assets/tiles.png to names, the type of a tile in tiles.tsx is one of these. <br>
+     * Each element lists its tile ids as pairs of first and last id, for tilesets without types
      */
     public enum ElemEnum {
-        BOARD,
-        HOLE,
-        REPAIRSTATION,
-        PUSHPANEL,
-        WALL,
-        BELTX2,
-        BELTX1,
-        LASER,
-        COG,
-        FLAG,
-        FIREPIT,
-        FLAGPLATFORM,
-        STARTINGPLATFORM;
+        BOARD(5,5),
+        HOLE(6,6, 91,92, 105,110, 113,118),
+        REPAIRSTATION(7,7, 15,15),
+        PUSHPANEL(9,12),
+        WALL(8,8, 16,16, 23,24, 29,32, 37,38, 45,46, 87,87, 93,95),
+        BELTX2(13,14, 17,22, 25,28, 73,78, 81,86),
+        BELTX1(33,36, 41,44, 49,52, 57,62, 65,70),
+        LASER(39,40, 47,47, 101,103),
+        COG(53,54),
+        FLAG(55,55, 63,63, 71,71, 79,79),
+        FIREPIT(89,90),
+        FLAGPLATFORM(97,100),
+        STARTINGPLATFORM(121,124, 129,132);
+
+        private final int[] ranges;
+
+        ElemEnum(int... ranges){
+            this.ranges = ranges;
+        }
+
+        /**
+         * Counts the tiles of the element in the order they are listed,
+         * used to number the tiles of elements that have no properties, like the starting platforms
+         * @param id Tile id of the element
+         * @return Position of the tile among the tiles of the element, starting at 0
+         */
+        public int indexOf(int id){
+            int index = 0;
+            for(int i = 0; i < ranges.length; i += 2){
+                if(id >= ranges[i] && id <= ranges[i + 1]){
+                    return index + id - ranges[i];
+                }
+                index += ranges[i + 1] - ranges[i] + 1;
+            }
+            throw new IllegalArgumentException("Tile " + id + " is not a " + this);
+        }
     }
-}
\ No newline at end of file
+}
@@ -7,30 +7,50 @@ import com.badlogic.gdx.assets.loaders.AsynchronousAssetLoader;
 import com.badlogic.gdx.assets.loaders.FileHandleResolver;
 import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.utils.Array;
-import inf112.app.game.RoboRally;
 import inf112.app.map.Map;
 
+/**
+ * Loads the game logic of a course through the AssetManager. <br>
+ * Everything that doesn't need GL is done on the loader thread in {@link #loadAsync},
+ * so the loading screen keeps drawing while big boards are built.
+ */
 public class MapLoader extends AsynchronousAssetLoader<Map, MapLoader.Parameters> {
-    private RoboRally game;
-    public MapLoader(FileHandleResolver resolver, RoboRally game) {
+    private Map map;
+
+    public MapLoader(FileHandleResolver resolver) {
         super(resolver);
-        this.game = game;
     }
 
     /**
-     * Unused function
+     * Builds the map on the AssetManager's executor. Reads the board straight from the .tmx file,
+     * creates the board elements and precomputes the conveyor table and the laser rays
      * @param assetManager The current AssetManager
      * @param mapName The map to load
      * @param fileHandle ..
-     * @param parameters ..
+     * @param parameters The seed of the match, or null for a random seed
      */
     @Override
     public void loadAsync(AssetManager assetManager, String mapName, FileHandle fileHandle, Parameters parameters) {
-        // Not used
+        map = build(mapName, parameters);
+    }
+
+    /**
+     * Builds the map of a match. The deck of the map is shuffled by the seed of the match,
+     * the game uses that deck so the same seed deals the same cards
+     * @param mapName The map to load
+     * @param parameters The seed of the match, or null for a random seed
+     * @return A new map
+     */
+    static Map build(String mapName, Parameters parameters){
+        if(parameters == null || parameters.seed == null){
+            return new Map(mapName);
+        }
+        return new Map(mapName, parameters.seed);
     }
 
     /**
-     * Load the map in the background. Uses the already stored TiledMaps: MapName and Laser
+     * Hands the map built in {@link #loadAsync} to the game, on the render thread.
+     * The graphics are set up by the GameScreen
      * @param assetManager The current AssetManager
      * @param mapName The map to load
      * @param fileHandle ..
@@ -39,8 +59,9 @@ public class MapLoader extends AsynchronousAssetLoader<Map, MapLoader.Parameters
      */
     @Override
     public Map loadSync(AssetManager assetManager, String mapName, FileHandle fileHandle, Parameters parameters) {
-        Map.setInstance(game.manager.get("assets/" + mapName + ".tmx"),
-                game.manager.get("assets/Lasers.tmx"), game.manager.get("assets/GameButtons/Buttons.tmx"));
+        Map loaded = map;
+        map = null;
+        Map.setInstance(loaded);
         return Map.getInstance();
     }
 
@@ -50,5 +71,7 @@ public class MapLoader extends AsynchronousAssetLoader<Map, MapLoader.Parameters
     }
 
     public static class Parameters extends AssetLoaderParameters<Map> {
+        // Seed of the match, null for a random seed
+        public Long seed;
     }
 }
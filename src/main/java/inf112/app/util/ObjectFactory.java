@@ -3,19 +3,26 @@ package inf112.app.util;
 import com.badlogic.gdx.maps.MapProperties;
 import com.badlogic.gdx.maps.tiled.TiledMapTile;
 import inf112.app.objects.*;
-import inf112.app.util.IDTranslator.ElemEnum;
-import inf112.app.map.Direction.Rotation;
 
 /**
  * Class for generating {@link IBoardElement} for
  * {@link inf112.app.map.MapCellList} to keep track of the
- * game logic of the elements
+ * game logic of the elements. <br>
+ * Looks the tiles up in a {@link TileRegistry}. Tiles that are not in it yet are
+ * registered from their properties the first time they are seen.
  */
 public class ObjectFactory {
-    private IDTranslator translator;
+    private TileRegistry registry;
 
     public ObjectFactory(){
-        translator = new IDTranslator();
+        this(new TileRegistry());
+    }
+
+    /**
+     * @param registry Table with the tiles of the map, usually shared by every map using the same tileset
+     */
+    public ObjectFactory(TileRegistry registry){
+        this.registry = registry;
     }
 
     /**
@@ -25,65 +32,39 @@ public class ObjectFactory {
      * on the tiles custom properties
      */
     public IBoardElement generateObject(TiledMapTile tile, int x, int y){
-        int id = tile.getId();
-        ElemEnum name = translator.findNameFromId(id);
-        MapProperties properties = tile.getProperties();
-        switch(name){
-            case BELTX1:
-                return createConveyor(properties,1);
-            case BELTX2:
-                return createConveyor(properties,2);
-            case COG:
-                return createCog(properties);
-            case WALL:
-                return createWall(properties, x, y);
-            case LASER: return null;
-            case REPAIRSTATION:
-                return createRepairStation(properties);
-            case FLAG:
-                return createFlag(properties);
-            default: return null;//throw new IllegalArgumentException("Enum obtained from translator could not be placed");
-        }
-    }
-
-    private Flag createFlag(MapProperties props) {
-        int num = (int) props.get("flagNum");
-        return new Flag(num);
-    }
-
-    private RepairStation createRepairStation(MapProperties props) {
-        int speed = (int) props.get("speed");
-        return new RepairStation(speed);
+        return generateObject(tile.getId(), tile.getProperties(), x, y);
     }
 
-    private Cog createCog(MapProperties props) {
-        String direction = (String) props.get("direction");
-        Rotation rot;
-        if(direction.equals("left")){
-            rot = Rotation.LEFT;
-        } else if (direction.equals("right")){
-            rot = Rotation.RIGHT;
-        } else {
-            throw new IllegalArgumentException("Custom direction property is invalid");
+    /**
+     * Method for generating objects from a tile id and its properties,
+     * used when the map is read without loading any textures
+     * @param id The global id of the tile
+     * @param properties The custom properties of the tile, only read the first time the tile is seen
+     * @return An object of the correct class with parameters based
+     * on the tiles custom properties
+     */
+    public IBoardElement generateObject(int id, MapProperties properties, int x, int y){
+        if(!registry.isRegistered(id)){
+            registry.register(id, properties);
         }
-        return new Cog(rot);
+        return registry.create(id, x, y);
     }
 
-    private Wall createWall(MapProperties props, int x, int y){
-        int face0 = (int) props.get("block0");
-        int face1 = (int) props.get("block1");
-        boolean laser = (boolean) props.get("laser");
-        boolean doubleLaser = false;
-        if(laser){
-            doubleLaser = (boolean) props.get("doubleLaser");
-        }
-        return new Wall(face0,face1,laser,doubleLaser,x ,y);
+    /**
+     * Method for generating objects from tiles that are already in the registry
+     * @param id The global id of the tile
+     * @return An object of the correct class, null if the tile has no game logic
+     */
+    public IBoardElement generateObject(int id, int x, int y){
+        return registry.create(id, x, y);
     }
 
-    private Conveyor createConveyor(MapProperties props, int speed){
-        int entry0 = (int) props.get("ent0");
-        int entry1 = (int) props.get("ent1");
-        int exit = (int) props.get("exit");
-        return new Conveyor(entry0, entry1, exit, speed);
+    /**
+     * The starting platforms have no game logic of their own, only a number
+     * @param id The global id of the tile
+     * @return The number of the starting platform, 0 if the tile isn't one
+     */
+    public int startNumber(int id){
+        return registry.startNumber(id);
     }
 }
@@ -0,0 +1,241 @@
+package inf112.app.util;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.maps.MapProperties;
+import com.badlogic.gdx.utils.XmlReader;
+import com.badlogic.gdx.utils.XmlReader.Element;
+import inf112.app.map.Direction.Rotation;
+import inf112.app.objects.*;
+import inf112.app.util.IDTranslator.ElemEnum;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+
+/**
+ * Table from global tile id to what the tile does in the game, indexed by the id. <br>
+ * The custom properties of a tile are decoded once, when the tile is registered.
+ * Placing a tile is then one array lookup and a constructor call.
+ * What a tile is comes from the tileset: the type of the tile in Tiled names its {@link ElemEnum},
+ * and the settings are its custom properties. Tilesets without types fall back to the id ranges of {@link ElemEnum}.
+ * Which properties an element is made from is listed in {@link #DECODERS},
+ * so a new element needs an {@link ElemEnum} entry and a decoder, and its tiles are marked in the tileset.
+ */
+public class TileRegistry {
+    /**
+     * Makes the element of a tile, with its properties already decoded
+     */
+    public interface ElementFactory {
+        IBoardElement create(int x, int y);
+    }
+
+    private interface Decoder {
+        ElementFactory decode(MapProperties props);
+    }
+
+    // Elements that are not listed have no game logic
+    private static final EnumMap<ElemEnum, Decoder> DECODERS = new EnumMap<>(ElemEnum.class);
+    // Registries of the tilesets in .tsx files, shared by every map using them until the file changes
+    private static final HashMap<String, TileRegistry> TILESETS = new HashMap<>();
+
+    static {
+        DECODERS.put(ElemEnum.BELTX1, props -> conveyor(props, 1));
+        DECODERS.put(ElemEnum.BELTX2, props -> conveyor(props, 2));
+        DECODERS.put(ElemEnum.COG, props -> {
+            Rotation rot = cogRotation((String) props.get("direction"));
+            return (x, y) -> new Cog(rot);
+        });
+        DECODERS.put(ElemEnum.WALL, props -> {
+            int face0 = (int) props.get("block0");
+            int face1 = (int) props.get("block1");
+            boolean laser = (boolean) props.get("laser");
+            boolean doubleLaser = laser && (boolean) props.get("doubleLaser");
+            return (x, y) -> new Wall(face0, face1, laser, doubleLaser, x, y);
+        });
+        DECODERS.put(ElemEnum.REPAIRSTATION, props -> {
+            int speed = (int) props.get("speed");
+            return (x, y) -> new RepairStation(speed);
+        });
+        DECODERS.put(ElemEnum.FLAG, props -> {
+            int num = (int) props.get("flagNum");
+            return (x, y) -> new Flag(num);
+        });
+    }
+
+    private IDTranslator translator;
+    private boolean[] registered;
+    // Ids that are registered but not in the translator, placing them is an error
+    private boolean[] unknown;
+    private ElementFactory[] factories;
+    private byte[] startNumbers;
+    // Checksum of the .tsx file the registry was read from
+    private long checksum;
+
+    public TileRegistry(){
+        translator = new IDTranslator();
+        registered = new boolean[0];
+        unknown = new boolean[0];
+        factories = new ElementFactory[0];
+        startNumbers = new byte[0];
+    }
+
+    /**
+     * Finds the registry of a tileset in a .tsx file, reading the file the first time it is used
+     * and again every time it has changed, so a course compiled after the tileset changed gets the new tiles
+     * @param tsxFile The tileset
+     * @param firstGid The global id of the first tile in the set
+     * @return The registry with every tile of the set, shared with other maps using the same set
+     */
+    public static TileRegistry forTileset(FileHandle tsxFile, int firstGid){
+        String key = tsxFile.file().getAbsolutePath() + "#" + firstGid;
+        long checksum = CourseCompiler.checksum(tsxFile);
+        synchronized (TILESETS){
+            TileRegistry registry = TILESETS.get(key);
+            if(registry == null || registry.checksum != checksum){
+                registry = new TileRegistry();
+                registry.registerTileset(new XmlReader().parse(tsxFile), firstGid);
+                registry.checksum = checksum;
+                TILESETS.put(key, registry);
+            }
+            return registry;
+        }
+    }
+
+    /**
+     * Registers every tile of a tileset, including the tiles without properties
+     * @param tileset The tileset element, either inline or from a .tsx file
+     * @param firstGid The global id of the first tile in the set
+     */
+    public void registerTileset(Element tileset, int firstGid){
+        HashMap<Integer, MapProperties> properties = new HashMap<>();
+        int tileCount = tileset.getIntAttribute("tilecount", 0);
+        for(Element tile : tileset.getChildrenByName("tile")){
+            MapProperties props = new MapProperties();
+            String type = tile.getAttribute("type", null);
+            if(type != null){
+                props.put("type", type);
+            }
+            Element propertyList = tile.getChildByName("properties");
+            if(propertyList != null){
+                for(Element property : propertyList.getChildrenByName("property")){
+                    props.put(property.getAttribute("name"), parseValue(property));
+                }
+            }
+            int id = tile.getIntAttribute("id");
+            properties.put(id, props);
+            tileCount = Math.max(tileCount, id + 1);
+        }
+        MapProperties empty = new MapProperties();
+        for(int id = 0; id < tileCount; id++){
+            MapProperties props = properties.get(id);
+            register(firstGid + id, props == null ? empty : props);
+        }
+    }
+
+    /**
+     * Decodes the properties of a tile and stores how to make its element
+     * @param id Global id of the tile
+     * @param props Custom properties of the tile, with the type of the tile as "type" if it has one
+     */
+    public void register(int id, MapProperties props){
+        ensureCapacity(id + 1);
+        registered[id] = true;
+        ElemEnum name;
+        try {
+            String type = props.get("type", String.class);
+            name = type == null ? translator.findNameFromId(id) : ElemEnum.valueOf(type.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e){
+            unknown[id] = true;
+            return;
+        }
+        Decoder decoder = DECODERS.get(name);
+        try {
+            factories[id] = decoder == null ? null : decoder.decode(props);
+        } catch (RuntimeException e){
+            //Only an error if the tile is used in a map
+            factories[id] = (x, y) -> {
+                throw new IllegalArgumentException("Tile " + id + " has invalid properties", e);
+            };
+        }
+        if(name == ElemEnum.STARTINGPLATFORM){
+            Integer number = props.get("startNum", Integer.class);
+            startNumbers[id] = (byte) (number == null ? name.indexOf(id) + 1 : number);
+        }
+    }
+
+    /**
+     * @param id Global id of the tile
+     * @return true if the tile is in the table
+     */
+    public boolean isRegistered(int id){
+        return id >= 0 && id < registered.length && registered[id];
+    }
+
+    /**
+     * @param id Global id of a registered tile
+     * @param x coordinate
+     * @param y coordinate
+     * @return A new element for the tile, null if the tile has no game logic
+     */
+    public IBoardElement create(int id, int x, int y){
+        if(!isRegistered(id) || unknown[id]){
+            throw new IllegalArgumentException("ID range not valid. ID: " + id);
+        }
+        ElementFactory factory = factories[id];
+        return factory == null ? null : factory.create(x, y);
+    }
+
+    /**
+     * @param id Global id of the tile
+     * @return The number of the starting platform, 0 if the tile isn't one
+     */
+    public int startNumber(int id){
+        return id >= 0 && id < startNumbers.length ? startNumbers[id] : 0;
+    }
+
+    private void ensureCapacity(int size){
+        if(registered.length < size){
+            registered = Arrays.copyOf(registered, size);
+            unknown = Arrays.copyOf(unknown, size);
+            factories = Arrays.copyOf(factories, size);
+            startNumbers = Arrays.copyOf(startNumbers, size);
+        }
+    }
+
+    private static ElementFactory conveyor(MapProperties props, int speed){
+        int entry0 = (int) props.get("ent0");
+        int entry1 = (int) props.get("ent1");
+        int exit = (int) props.get("exit");
+        return (x, y) -> new Conveyor(entry0, entry1, exit, speed);
+    }
+
+    private static Rotation cogRotation(String direction){
+        if("left".equals(direction)){
+            return Rotation.LEFT;
+        } else if ("right".equals(direction)){
+            return Rotation.RIGHT;
+        }
+        throw new IllegalArgumentException("Custom direction property is invalid");
+    }
+
+    /**
+     * Converts a property to the same types the TmxMapLoader uses
+     * @param property The property element
+     * @return Integer, Float, Boolean or String depending on the type attribute
+     */
+    private static Object parseValue(Element property){
+        String value = property.getAttribute("value", property.getText());
+        String type = property.getAttribute("type", "string");
+        switch(type){
+            case "int":
+                return Integer.parseInt(value);
+            case "float":
+                return Float.parseFloat(value);
+            case "bool":
+                return Boolean.parseBoolean(value);
+            default:
+                return value;
+        }
+    }
+}
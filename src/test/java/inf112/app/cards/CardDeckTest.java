@@ -6,6 +6,8 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import java.util.Random;
+
 import static org.junit.Assert.*;
 @RunWith(GdxTestRunner.class)
 public class CardDeckTest {
@@ -56,4 +58,56 @@ public class CardDeckTest {
             assertEquals("Failure, number should be zero",correctNumbers[i],0);
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shuffledDeckHoldsEveryCardOnce() {
+        CardDeck deck = new CardDeck(new Random(7));
+        boolean[] seen = new boolean[CardDeck.SIZE];
+        int count = 0;
+        while(!deck.isEmpty()){
+            int id = deck.dealId();
+            assertFalse("Failure, card was dealt twice", seen[id]);
+            seen[id] = true;
+            count++;
+        }
+        assertEquals("Failure, every card should be dealt", CardDeck.SIZE, count);
+        deck.reset();
+        assertFalse("Failure, reset should put the cards back", deck.isEmpty());
+    }
+
+    @Test
+    public void sameSeedGivesSameOrder() {
+        CardDeck first = new CardDeck(new Random(99));
+        CardDeck second = new CardDeck(new Random(99));
+        for(int i = 0; i < CardDeck.SIZE; i++){
+            assertSame("Failure, decks with the same seed should deal the same cards", first.getCard(), second.getCard());
+        }
+    }
+
+    @Test
+    public void cardsCanBePutBack() {
+        CardDeck deck = new CardDeck(true);
+        ICard card = deck.getCard();
+        assertEquals("Failure, id should find the same card", card, CardDeck.getCard(CardDeck.getId(card)));
+        deck.addCard(card);
+        assertSame("Failure, the card put back should be dealt next", card, deck.getCard());
+    }
+
+    @Test
+    public void restoredDeckDealsTheSameCards() {
+        CardDeck deck = new CardDeck(new Random(5));
+        deck.getCards(10);
+        int[] state = new int[CardDeck.STATE_SIZE];
+        assertEquals(CardDeck.STATE_SIZE, deck.writeState(state, 0));
+        ICard next = deck.getCard();
+        deck.reset();
+        deck.shuffle();
+        ICard afterShuffle = deck.getCard();
+
+        deck.readState(state, 0);
+        assertSame("Failure, restored deck should deal the same card", next, deck.getCard());
+        deck.reset();
+        deck.shuffle();
+        assertSame("Failure, restored deck should shuffle the same way", afterShuffle, deck.getCard());
+    }
+}
@@ -0,0 +1,31 @@
+package inf112.app.game;
+
+import inf112.app.cards.CardDeck;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CardTilesTest {
+
+    @Test
+    public void everyCardHasItsOwnRegion() {
+        boolean[][] used = new boolean[CardTiles.pageCount() * CardTiles.ROWS][CardTiles.COLUMNS];
+        for(int id = 0; id < CardDeck.SIZE; id++){
+            int page = CardTiles.page(id);
+            int row = CardTiles.row(id);
+            assertTrue("Failure, card should be on an existing page", page < CardTiles.pageCount());
+            assertTrue("Failure, card should fit on its page",
+                    (row + 1) * CardTiles.CARD_HEIGHT <= CardTiles.pageHeight(page));
+            assertFalse("Failure, two cards share a region", used[page * CardTiles.ROWS + row][CardTiles.column(id)]);
+            used[page * CardTiles.ROWS + row][CardTiles.column(id)] = true;
+        }
+    }
+
+    @Test
+    public void lastPageOnlyHoldsTheRowsItNeeds() {
+        int lastPage = CardTiles.pageCount() - 1;
+        int lastRow = CardTiles.row(CardDeck.SIZE - 1);
+        assertEquals("Failure, last page should end after the last card",
+                (lastRow + 1) * CardTiles.CARD_HEIGHT, CardTiles.pageHeight(lastPage));
+    }
+}
@@ -0,0 +1,67 @@
+package inf112.app.game;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class EventQueueTest {
+
+    @Test
+    public void eventsComeOutInOrder() {
+        EventQueue queue = new EventQueue(4);
+        assertNull("Failure, empty queue should have no events", queue.poll());
+        for(int i = 1; i <= 3; i++){
+            assertTrue(queue.offer(GameEvent.phaseDone(i)));
+        }
+        assertEquals(3, queue.size());
+        for(int i = 1; i <= 3; i++){
+            assertEquals(i, queue.poll().getValue());
+        }
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void fullQueueRefusesEvents() {
+        EventQueue queue = new EventQueue(2);
+        assertTrue(queue.offer(GameEvent.phaseDone(1)));
+        assertTrue(queue.offer(GameEvent.phaseDone(2)));
+        assertFalse("Failure, full queue should refuse the event", queue.offer(GameEvent.phaseDone(3)));
+        queue.poll();
+        assertTrue("Failure, polling should make room", queue.offer(GameEvent.phaseDone(3)));
+        assertEquals(2, queue.poll().getValue());
+        assertEquals(3, queue.poll().getValue());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void capacityMustBePowerOfTwo() {
+        new EventQueue(6);
+    }
+
+    @Test
+    public void handsEventsBetweenThreads() throws InterruptedException {
+        int count = 100_000;
+        EventQueue queue = new EventQueue(64);
+        Throwable[] failure = new Throwable[1];
+        Thread producer = new Thread(() -> {
+            try {
+                for(int i = 0; i < count; i++){
+                    queue.put(GameEvent.phaseDone(i));
+                }
+            } catch (Throwable t){
+                failure[0] = t;
+            }
+        });
+        producer.start();
+        int expected = 0;
+        while(expected < count){
+            GameEvent event = queue.poll();
+            if(event != null){
+                assertEquals("Failure, events should arrive in the order they were put", expected, event.getValue());
+                expected++;
+            }
+        }
+        producer.join();
+        assertNull(failure[0]);
+        assertTrue(queue.isEmpty());
+    }
+}
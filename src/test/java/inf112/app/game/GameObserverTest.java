@@ -0,0 +1,100 @@
+package inf112.app.game;
+
+import inf112.app.map.Map;
+import inf112.app.map.Position;
+import inf112.app.objects.LaserBeam;
+import inf112.app.objects.Robot;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class GameObserverTest {
+    private Map map;
+    private Robot robot;
+    private ArrayList<String> calls;
+
+    @Before
+    public void setUp() throws Exception {
+        map = new Map("testMap");
+        robot = new Robot(map, new Position(2,2), "player");
+        calls = new ArrayList<>();
+    }
+
+    /**
+     * @param name Written before every call
+     * @return An observer writing down its calls
+     */
+    private GameObserver recorder(String name){
+        return new GameObserver() {
+            @Override
+            public void lasersFired(List<LaserBeam> beams) {
+                calls.add(name + ":lasers");
+            }
+
+            @Override
+            public void damageTaken(Robot robot, int damageTokens) {
+                calls.add(name + ":damage" + damageTokens);
+            }
+
+            @Override
+            public void damageRepaired(Robot robot, int damageTokens) {
+                calls.add(name + ":repaired" + damageTokens);
+            }
+
+            @Override
+            public void lifeLost(Robot robot, int lives) {
+                calls.add(name + ":lives" + lives);
+            }
+
+            @Override
+            public void checkpointReached(Robot robot, int x, int y) {
+                calls.add(name + ":checkpoint" + x + "," + y);
+            }
+        };
+    }
+
+    @Test
+    public void mapStartsWithoutObservers() {
+        assertSame(GameObserver.NONE, map.getObserver());
+        //Nothing to tell, and nothing thrown
+        map.fireLasers();
+        robot.addDamageTokens(10);
+        robot.setCheckPoint(new Position(3,3));
+    }
+
+    @Test
+    public void rulesTellTheObservers() {
+        map.addObserver(recorder("a"));
+        map.fireLasers();
+        robot.addDamageTokens(2);
+        robot.removeDamageTokens(1);
+        robot.addDamageTokens(9);
+        robot.setCheckPoint(new Position(3,4));
+        assertEquals("[a:lasers, a:damage2, a:repaired1, a:lives2, a:checkpoint3,4]", calls.toString());
+    }
+
+    @Test
+    public void everyObserverIsTold() {
+        map.addObserver(recorder("a"));
+        map.addObserver(recorder("b"));
+        robot.addDamageTokens(1);
+        assertEquals("[a:damage1, b:damage1]", calls.toString());
+    }
+
+    @Test
+    public void statsCountTheGame() {
+        GameStats stats = new GameStats();
+        map.addObserver(stats);
+        map.fireLasers();
+        robot.addDamageTokens(4);
+        robot.addDamageTokens(6);
+        assertEquals(1, stats.getVolleys());
+        assertEquals(2, stats.getHits());
+        assertEquals(2, stats.getHits(robot));
+        assertEquals(1, stats.getLivesLost());
+    }
+}
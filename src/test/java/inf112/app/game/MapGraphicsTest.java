@@ -0,0 +1,157 @@
+package inf112.app.game;
+
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.TmxMapLoader;
+import inf112.app.GdxTestRunner;
+import inf112.app.map.Direction;
+import inf112.app.map.Map;
+import inf112.app.map.Position;
+import inf112.app.objects.Robot;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.*;
+
+@RunWith(GdxTestRunner.class)
+public class MapGraphicsTest {
+    private MapGraphics objectMap;
+    private TiledMap map;
+
+    @Before
+    public void setUp() throws Exception {
+        TmxMapLoader loader = new TmxMapLoader();
+        map = loader.load("assets/testMap.tmx");
+        objectMap = new MapGraphics(map, loader.load("assets/Lasers.tmx"));
+    }
+
+    /**
+     * Get all layers and compare them by name
+     */
+    @Test
+    public void getLayer() {
+        TiledMapTileLayer boardLayer = (TiledMapTileLayer) map.getLayers().get("Board");
+        TiledMapTileLayer holeLayer = (TiledMapTileLayer) map.getLayers().get("Hole");
+        TiledMapTileLayer flagLayer = (TiledMapTileLayer) map.getLayers().get("Flag");
+        TiledMapTileLayer playerLayer = (TiledMapTileLayer) map.getLayers().get("Player");
+        TiledMapTileLayer gearLayer = (TiledMapTileLayer) map.getLayers().get("Gear");
+        TiledMapTileLayer wallLayer = (TiledMapTileLayer) map.getLayers().get("Wall");
+        TiledMapTileLayer conveyorLayer = (TiledMapTileLayer) map.getLayers().get("Conveyor");
+        TiledMapTileLayer laserLayer = (TiledMapTileLayer) map.getLayers().get("Laser");
+        TiledMapTileLayer utilityLayer = (TiledMapTileLayer) map.getLayers().get("Utility");
+
+        assertEquals("Failure - board layer is not the same",
+                this.objectMap.getLayer("board").getName(), boardLayer.getName());
+        assertEquals("Failure - hole layer is not the same",
+                this.objectMap.getLayer("hole").getName(), holeLayer.getName());
+        assertEquals("Failure - flag layer is not the same",
+                this.objectMap.getLayer("flag").getName(), flagLayer.getName());
+        assertEquals("Failure - player layer is not the same",
+                this.objectMap.getLayer("player").getName(), playerLayer.getName());
+        assertEquals("Failure - gear layer is not the same",
+                this.objectMap.getLayer("gear").getName(), gearLayer.getName());
+        assertEquals("Failure - wall layer is not the same",
+                this.objectMap.getLayer("wall").getName(), wallLayer.getName());
+        assertEquals("Failure - conveyor layer is not the same",
+                this.objectMap.getLayer("conveyor").getName(), conveyorLayer.getName());
+        assertEquals("Failure - laser layer is not the same",
+                this.objectMap.getLayer("laser").getName(), laserLayer.getName());
+        assertEquals("Failure - utility layer is not the same",
+                this.objectMap.getLayer("utility").getName(), utilityLayer.getName());
+    }
+
+    @Test
+    public void onlyChangedRobotsAreRedrawn() {
+        Map game = new Map("testMap");
+        Robot robot = new Robot(game, new Position(2,2), "player");
+        TiledMapTileLayer playerLayer = objectMap.getLayer("player");
+        objectMap.updateRobots(game.getRobotList());
+        assertNotNull("Failure, robot should be drawn", playerLayer.getCell(2,2));
+
+        robot.move(1);
+        objectMap.updateRobots(game.getRobotList());
+        assertNull("Failure, old cell should be cleared", playerLayer.getCell(2,2));
+        TiledMapTileLayer.Cell sprite = playerLayer.getCell(2,3);
+        assertNotNull("Failure, robot should be drawn where it moved", sprite);
+
+        int rotation = sprite.getRotation();
+        robot.turn(Direction.Rotation.LEFT);
+        objectMap.updateRobots(game.getRobotList());
+        assertNotEquals("Failure, sprite should turn with the robot", rotation, playerLayer.getCell(2,3).getRotation());
+
+        game.deleteRobot(robot);
+        objectMap.updateRobots(game.getRobotList());
+        assertNull("Failure, removed robot should be erased", playerLayer.getCell(2,3));
+    }
+
+    @Test
+    public void robotEnteringCellThatWasJustLeftIsKept() {
+        Map game = new Map("testMap");
+        Robot back = new Robot(game, new Position(2,2), "player");
+        new Robot(game, new Position(2,3), "player");
+        TiledMapTileLayer playerLayer = objectMap.getLayer("player");
+        objectMap.updateRobots(game.getRobotList());
+
+        //The back robot pushes the front robot one step ahead
+        back.move(1);
+        objectMap.updateRobots(game.getRobotList());
+        assertNull("Failure, old cell should be cleared", playerLayer.getCell(2,2));
+        assertNotNull("Failure, back robot should be drawn", playerLayer.getCell(2,3));
+        assertNotNull("Failure, front robot should be drawn", playerLayer.getCell(2,4));
+    }
+
+    @Test
+    public void movingRobotIsPlacedWhenItArrives() {
+        Map game = new Map("testMap");
+        Robot robot = new Robot(game, new Position(2,2), "player");
+        TiledMapTileLayer playerLayer = objectMap.getLayer("player");
+        objectMap.updateRobots(game.getRobotList(), 0);
+        assertNotNull("Failure, a new robot should be drawn where it is", playerLayer.getCell(2,2));
+
+        robot.move(1);
+        objectMap.updateRobots(game.getRobotList(), 0);
+        assertTrue("Failure, robot should slide to its new cell", objectMap.isMoving(robot));
+        assertNull("Failure, old cell should be cleared", playerLayer.getCell(2,2));
+        assertNull("Failure, robot should not be in the layer while moving", playerLayer.getCell(2,3));
+
+        objectMap.updateRobots(game.getRobotList(), 1);
+        assertFalse(objectMap.isMoving(robot));
+        assertNotNull("Failure, robot should be drawn where it arrived", playerLayer.getCell(2,3));
+    }
+
+    @Test
+    public void lasersAreKeptAsBeams() {
+        Map game = new Map("testMap");
+        Robot shooter = new Robot(game, new Position(2,2), "player");
+        new Robot(game, new Position(5,2), "player").turn(Direction.Rotation.LEFT);
+        shooter.turn(Direction.Rotation.RIGHT);
+        game.fireLasers();
+        objectMap.showLasers(game.getLaserBeams());
+        assertEquals("Failure, every beam should be one sprite", game.getLaserBeams().size(), objectMap.getBeamCount());
+        assertNull("Failure, beams should not be written into the laser layer", objectMap.getLayer("laser").getCell(3,2));
+
+        objectMap.clearLasers();
+        assertEquals(0, objectMap.getBeamCount());
+    }
+
+    @Test
+    public void lasersAreDrawnUnderWallsAndRobots() {
+        int laser = map.getLayers().getIndex("Laser");
+        int[] below = objectMap.getLayersBelowLasers();
+        int[] above = objectMap.getLayersAboveLasers();
+        assertEquals("Failure, every layer should be drawn once", map.getLayers().getCount(), below.length + above.length);
+        assertEquals("Failure, the layer under the lasers should be drawn before them", laser - 1, below[below.length - 1]);
+        assertEquals(laser, above[0]);
+        int wall = map.getLayers().getIndex("Wall");
+        int player = map.getLayers().getIndex("Player");
+        boolean wallAbove = false;
+        boolean playerAbove = false;
+        for(int index : above){
+            wallAbove |= index == wall;
+            playerAbove |= index == player;
+        }
+        assertTrue("Failure, walls should be drawn over the lasers", wallAbove);
+        assertTrue("Failure, robots should be drawn over the lasers", playerAbove);
+    }
+}
@@ -0,0 +1,141 @@
+package inf112.app.game;
+
+import com.badlogic.gdx.files.FileHandle;
+import inf112.app.cards.CardSlot;
+import inf112.app.map.Map;
+import inf112.app.map.Position;
+import inf112.app.objects.Robot;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class MatchReplayTest {
+    private static final int ROUNDS = 25;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private FileHandle file;
+    // The state of all the robots after each round, as it was played
+    private ArrayList<int[]> played;
+
+    @Before
+    public void setUp() throws Exception {
+        file = new FileHandle(folder.newFile("match" + MatchLog.EXTENSION));
+        played = new ArrayList<>();
+
+        Map map = new Map("testMap", 4321L);
+        for(int x = 2; x <= 8; x += 2){
+            new Robot(map, new Position(x,2),"player");
+        }
+        new Rounds(map).dealCards();
+        EventQueue events = new EventQueue();
+        Simulation simulation = new Simulation(map, events);
+        MatchLog log = new MatchLog(file, "testMap", map);
+        simulation.setLog(log);
+
+        played.add(state(map));
+        for(int round = 1; round <= ROUNDS; round++){
+            for(Robot robot : map.getRobotList()){
+                program(robot);
+            }
+            simulation.playRound();
+            while(events.poll() != null){
+                //Nobody is watching
+            }
+            played.add(state(map));
+        }
+        assertEquals(ROUNDS, log.getRound());
+        log.close();
+    }
+
+    /**
+     * Programs the first five dealt cards into the registers
+     * @param robot The robot to program
+     */
+    private void program(Robot robot){
+        CardSlot[] available = robot.getAvailableCards();
+        for(int i = 0; i < 5; i++){
+            if(available[i].hasCard()){
+                robot.setProgrammedCard(i, available[i].removeCard());
+            }
+        }
+    }
+
+    private static int[] state(Map map){
+        int[] state = new int[map.getRobotList().size() * Robot.STATE_SIZE];
+        int offset = 0;
+        for(Robot robot : map.getRobotList()){
+            offset = robot.writeState(state, offset);
+        }
+        return state;
+    }
+
+    @Test
+    public void seekMatchesThePlayedGame() {
+        MatchReplay replay = new MatchReplay(file);
+        assertEquals("testMap", replay.getMapName());
+        assertEquals(4321L, replay.getSeed());
+        assertEquals(ROUNDS, replay.getRounds());
+        for(int round = 1; round <= ROUNDS; round++){
+            assertArrayEquals("Failure, replay should match round " + round,
+                    played.get(round), state(replay.seek(round, 5)));
+        }
+    }
+
+    @Test
+    public void startOfRoundIsEndOfPreviousRound() {
+        MatchReplay replay = new MatchReplay(file);
+        assertArrayEquals(played.get(0), state(replay.seek(1, 0)));
+        assertArrayEquals("Failure, keyframe should be the state before the round",
+                played.get(MatchLog.KEYFRAME_INTERVAL), state(replay.seek(MatchLog.KEYFRAME_INTERVAL + 1, 0)));
+    }
+
+    @Test
+    public void registersAndHandsAreLogged() {
+        MatchReplay replay = new MatchReplay(file);
+        for(int robot = 0; robot < 4; robot++){
+            int[] hand = replay.getHand(1, robot);
+            int[] registers = replay.getRegisters(1, robot);
+            assertEquals(9, hand.length);
+            assertArrayEquals("Failure, the first five dealt cards were programmed",
+                    Arrays.copyOf(hand, 5), registers);
+        }
+        assertNotNull("Failure, cards for the round after the last should be logged", replay.getHand(ROUNDS + 1, 0));
+        assertNull("Failure, the round after the last was not played", replay.getRegisters(ROUNDS + 1, 0));
+    }
+
+    @Test
+    public void cutLogIsReadUpToLastRecord() {
+        byte[] bytes = file.readBytes();
+        FileHandle cut = new FileHandle(folder.getRoot()).child("cut" + MatchLog.EXTENSION);
+        cut.writeBytes(Arrays.copyOf(bytes, bytes.length - 3), false);
+
+        MatchReplay replay = new MatchReplay(cut);
+        assertEquals(ROUNDS, replay.getRounds());
+        assertNull("Failure, the cut record should be dropped", replay.getHand(ROUNDS + 1, 0));
+        assertArrayEquals(played.get(ROUNDS), state(replay.seek(ROUNDS, 5)));
+    }
+
+    @Test
+    public void simulationClosesTheLogWhenStopped() throws Exception {
+        Map map = new Map("testMap", 1L);
+        new Robot(map, new Position(2,2),"player");
+        Simulation simulation = new Simulation(map, new EventQueue());
+        simulation.setLog(new MatchLog(new FileHandle(folder.newFile("stopped" + MatchLog.EXTENSION)), "testMap", map));
+        simulation.start();
+        simulation.stop();
+        assertNull("Failure, the log should be closed by the simulation thread", simulation.getLog());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cannotSeekPastTheLog() {
+        new MatchReplay(file).seek(ROUNDS + 1, 0);
+    }
+}
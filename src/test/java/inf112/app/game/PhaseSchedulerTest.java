@@ -0,0 +1,122 @@
+package inf112.app.game;
+
+import inf112.app.map.Map;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.Assert.*;
+
+public class PhaseSchedulerTest {
+    private ArrayList<String> calls;
+    private PhaseScheduler scheduler;
+
+    /**
+     * Rounds that only write down what they are asked to do
+     */
+    private class RecordingRounds extends Rounds {
+        RecordingRounds(Map map) {
+            super(map);
+        }
+
+        @Override
+        public void putBackPlayers() {
+            calls.add("putBack");
+        }
+
+        @Override
+        public void dealCards() {
+            calls.add("deal");
+        }
+
+        @Override
+        public void doPhase(int phaseNum) {
+            calls.add("phase" + phaseNum);
+        }
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        calls = new ArrayList<>();
+        scheduler = new PhaseScheduler(new RecordingRounds(new Map("testMap")), 0.5f);
+    }
+
+    @Test
+    public void phasesRunOnePhaseTimeApart() {
+        scheduler.startRound();
+        scheduler.update(0);
+        assertEquals("[putBack, phase1]", calls.toString());
+
+        scheduler.update(0.4f);
+        assertEquals("Failure, next phase should wait for the phase time", 2, calls.size());
+        scheduler.update(0.1f);
+        assertEquals("phase2", calls.get(2));
+
+        for(int i = 0; i < 3; i++){
+            scheduler.update(0.5f);
+        }
+        assertEquals("phase5", calls.get(calls.size() - 1));
+        assertTrue(scheduler.isRoundOngoing());
+
+        assertFalse("Failure, round should end after dealing", scheduler.update(0.5f));
+        assertEquals("deal", calls.get(calls.size() - 1));
+        assertEquals(7, calls.size());
+
+        scheduler.update(10);
+        assertEquals("Failure, nothing should run between rounds", 7, calls.size());
+    }
+
+    @Test
+    public void longFrameCatchesUp() {
+        scheduler.startRound();
+        scheduler.update(1.2f);
+        assertEquals("[putBack, phase1, phase2, phase3]", calls.toString());
+    }
+
+    @Test
+    public void fastForwardResolvesRoundInOneUpdate() {
+        scheduler.setFastForward(true);
+        scheduler.startRound();
+        assertFalse(scheduler.update(0));
+        assertEquals("[putBack, phase1, phase2, phase3, phase4, phase5, deal]", calls.toString());
+        assertEquals(1, scheduler.getMoveProgress(), 0);
+    }
+
+    @Test
+    public void moveProgressFollowsThePhase() {
+        assertEquals("Failure, robots should be in place between rounds", 1, scheduler.getMoveProgress(), 0);
+        scheduler.startRound();
+        scheduler.update(0.1f);
+        assertEquals(0, scheduler.getMoveProgress(), 0.0001f);
+        scheduler.update(0.125f);
+        assertEquals(0.5f, scheduler.getMoveProgress(), 0.0001f);
+        scheduler.update(0.2f);
+        assertEquals(1, scheduler.getMoveProgress(), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void phaseTimeMustBePositive() {
+        scheduler.setPhaseTime(0);
+    }
+
+    @Test
+    public void stepWaitsUntilReady() {
+        boolean[] ready = {false};
+        scheduler = new PhaseScheduler(new RecordingRounds(new Map("testMap")) {
+            @Override
+            public boolean isReady(int phaseNum) {
+                return ready[0];
+            }
+        }, 0.5f);
+        scheduler.startRound();
+        scheduler.update(2);
+        assertEquals("[putBack]", calls.toString());
+
+        ready[0] = true;
+        scheduler.update(0);
+        assertEquals("Failure, waiting should not make later phases catch up", "[putBack, phase1]", calls.toString());
+        scheduler.update(0.5f);
+        assertEquals("phase2", calls.get(calls.size() - 1));
+    }
+}
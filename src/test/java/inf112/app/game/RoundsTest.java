@@ -0,0 +1,174 @@
+package inf112.app.game;
+
+import inf112.app.cards.CardDeck;
+import inf112.app.cards.CardSlot;
+import inf112.app.cards.MoveCard;
+import inf112.app.map.Map;
+import inf112.app.map.Position;
+import inf112.app.objects.Robot;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.Assert.*;
+
+/**
+ * Runs whole rounds without a GL context, the same way bots and simulations do
+ */
+public class RoundsTest {
+    private Map map;
+
+    @Before
+    public void setUp() throws Exception {
+        map = newGame();
+    }
+
+    /**
+     * @return A separate game on the test map, with its own deck
+     */
+    private Map newGame(){
+        Map game = new Map("testMap");
+        game.setDeck(new CardDeck());
+        return game;
+    }
+
+    /**
+     * Plays a number of rounds on the given game
+     * @param game The game to play
+     * @param rounds How many rounds to play
+     * @return The robots of the game
+     */
+    private ArrayList<Robot> playRounds(Map game, int rounds){
+        ArrayList<Robot> robots = new ArrayList<>();
+        for(int x = 2; x <= 8; x += 2){
+            robots.add(new Robot(game, new Position(x,2),"player"));
+        }
+        Rounds gameRounds = new Rounds(game);
+        for(int round = 0; round < rounds; round++){
+            gameRounds.putBackPlayers();
+            gameRounds.dealCards();
+            for(Robot robot : robots){
+                program(robot);
+            }
+            for(int phase = 1; phase <= 5; phase++){
+                gameRounds.doPhase(phase);
+            }
+            game.deactivateLasers();
+        }
+        return robots;
+    }
+
+    /**
+     * Checks that every robot is on the board and in the inventory of its cell
+     * @param game The game the robots belong to
+     * @param robots The robots to check
+     */
+    private void assertConsistent(Map game, ArrayList<Robot> robots){
+        for(Robot robot : robots){
+            Position pos = robot.getPos();
+            assertTrue("Failure, robot should be on the map",
+                    pos.getXCoordinate() >= 0 && pos.getXCoordinate() < game.getMapSizeX());
+            assertTrue("Failure, robot should be on the map",
+                    pos.getYCoordinate() >= 0 && pos.getYCoordinate() < game.getMapSizeY());
+            assertSame("Failure, robot should occupy its cell", robot,
+                    game.robotInTile(pos));
+        }
+    }
+
+    /**
+     * Programs the first five dealt cards into the registers
+     * @param robot The robot to program
+     */
+    private void program(Robot robot){
+        CardSlot[] available = robot.getAvailableCards();
+        for(int i = 0; i < 5; i++){
+            if(available[i].hasCard()){
+                robot.setProgrammedCard(i, available[i].removeCard());
+            }
+        }
+    }
+
+    @Test
+    public void simulatesRoundsHeadless() {
+        ArrayList<Robot> robots = playRounds(map, 50);
+        assertConsistent(map, robots);
+    }
+
+    @Test
+    public void gamesRunIndependentlyOnSeparateThreads() throws InterruptedException {
+        int games = 4;
+        Map[] maps = new Map[games];
+        ArrayList<ArrayList<Robot>> robots = new ArrayList<>();
+        Throwable[] failures = new Throwable[games];
+        Thread[] threads = new Thread[games];
+        for(int i = 0; i < games; i++){
+            maps[i] = newGame();
+            robots.add(null);
+        }
+        for(int i = 0; i < games; i++){
+            final int game = i;
+            threads[i] = new Thread(() -> {
+                try {
+                    robots.set(game, playRounds(maps[game], 50));
+                } catch (Throwable t){
+                    failures[game] = t;
+                }
+            });
+            threads[i].start();
+        }
+        for(Thread thread : threads){
+            thread.join();
+        }
+        for(int i = 0; i < games; i++){
+            assertNull("Failure, game " + i + " threw an exception", failures[i]);
+            assertConsistent(maps[i], robots.get(i));
+            for(Robot robot : robots.get(i)){
+                assertSame("Failure, robot should belong to its own game", maps[i], robot.getMap());
+            }
+        }
+    }
+
+    @Test
+    public void highestPriorityMovesFirst() {
+        Robot back = new Robot(map, new Position(2,2), "player");
+        Robot front = new Robot(map, new Position(2,3), "player");
+        back.setProgrammedCard(0, new MoveCard(500, 1));
+        front.setProgrammedCard(0, new MoveCard(100, 1));
+        new Rounds(map).doPhase(1);
+        //The back robot pushes the front robot before the front robot moves on its own
+        assertEquals("Failure, back robot should have moved one step", 3, back.getPos().getYCoordinate());
+        assertEquals("Failure, front robot should have been pushed and then moved", 5, front.getPos().getYCoordinate());
+    }
+
+    @Test
+    public void equalPrioritiesBreakOnRobotIndex() {
+        assertTrue("Failure, higher priority should sort after lower priority",
+                Rounds.packOrder(200, 5) > Rounds.packOrder(100, 0));
+        assertTrue("Failure, lower robot index should go first on a tie",
+                Rounds.packOrder(100, 0) > Rounds.packOrder(100, 1));
+        assertEquals("Failure, robot index should survive packing", 7, Rounds.robotIndex(Rounds.packOrder(340, 7)));
+    }
+
+    /**
+     * @param robots The robots to describe
+     * @return The position, damage and lives of every robot
+     */
+    private String describe(ArrayList<Robot> robots){
+        StringBuilder builder = new StringBuilder();
+        for(Robot robot : robots){
+            builder.append(robot.getPos()).append(robot.getDamageTokens()).append(robot.getLives()).append(';');
+        }
+        return builder.toString();
+    }
+
+    @Test
+    public void sameSeedPlaysSameGame() {
+        Map first = new Map("testMap", 1234L);
+        Map second = new Map("testMap", 1234L);
+        String firstGame = describe(playRounds(first, 30));
+        String secondGame = describe(playRounds(second, 30));
+        assertEquals("Failure, games with the same seed should play out the same", firstGame, secondGame);
+        assertEquals("Failure, seed should be kept", 1234L, second.getSeed());
+    }
+}
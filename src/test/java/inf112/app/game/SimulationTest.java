@@ -0,0 +1,188 @@
+package inf112.app.game;
+
+import inf112.app.cards.CardDeck;
+import inf112.app.cards.MoveCard;
+import inf112.app.map.Direction.Rotation;
+import inf112.app.map.Map;
+import inf112.app.map.Position;
+import inf112.app.objects.Robot;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.Assert.*;
+
+public class SimulationTest {
+    private Map map;
+    private EventQueue events;
+    private Simulation simulation;
+    private Robot robot;
+
+    @Before
+    public void setUp() throws Exception {
+        map = new Map("testMap");
+        map.setDeck(new CardDeck());
+        robot = new Robot(map, new Position(2,2), "player");
+        events = new EventQueue();
+        simulation = new Simulation(map, events);
+    }
+
+    /**
+     * @return Every event in the queue
+     */
+    private ArrayList<GameEvent> drain(){
+        ArrayList<GameEvent> drained = new ArrayList<>();
+        GameEvent event;
+        while((event = events.poll()) != null){
+            drained.add(event);
+        }
+        return drained;
+    }
+
+    /**
+     * @param shown Events in the order they were shown
+     * @return The last move event
+     */
+    private GameEvent lastMove(ArrayList<GameEvent> shown){
+        for(int i = shown.size() - 1; i >= 0; i--){
+            if(shown.get(i).getType() == GameEvent.Type.MOVED){
+                return shown.get(i);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param events The events
+     * @param type Type to look for
+     * @return Index of the first event of the type
+     */
+    private int firstOfType(ArrayList<GameEvent> events, GameEvent.Type type){
+        for(int i = 0; i < events.size(); i++){
+            if(events.get(i).getType() == type){
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Test
+    public void roundIsPublishedPhaseByPhase() throws InterruptedException {
+        robot.setProgrammedCard(0, new MoveCard(500, 2));
+        simulation.playRound();
+        ArrayList<GameEvent> published = drain();
+
+        GameEvent move = published.get(published.indexOf(lastMove(published)));
+        assertSame(robot, move.getRobot());
+        assertEquals("Failure, move should be published with the phase it happened in", 4, move.getY());
+        assertTrue("Failure, move should be published before the end of the first phase",
+                published.indexOf(move) < firstOfType(published, GameEvent.Type.PHASE_DONE));
+
+        int phase = 0;
+        for(GameEvent event : published){
+            if(event.getType() == GameEvent.Type.PHASE_DONE){
+                assertEquals("Failure, phases should be published in order", ++phase, event.getValue());
+            }
+        }
+        assertEquals(PhaseScheduler.PHASES, phase);
+        assertEquals(GameEvent.Type.CARDS_DEALT, published.get(published.size() - 2).getType());
+        assertEquals(9, published.get(published.size() - 2).getValue());
+        assertEquals(GameEvent.Type.ROUND_DONE, published.get(published.size() - 1).getType());
+    }
+
+    @Test
+    public void unchangedRobotsPublishNothing() throws InterruptedException {
+        simulation.playRound();
+        for(GameEvent event : drain()){
+            assertNotEquals("Failure, robot that didn't move should not be published",
+                    GameEvent.Type.MOVED, event.getType());
+        }
+    }
+
+    @Test
+    public void stopWaitsForTheThread() throws InterruptedException {
+        //A queue too small for the round, so the thread is stopped while it waits in the middle of it
+        events = new EventQueue(2);
+        simulation = new Simulation(map, events);
+        simulation.start();
+        simulation.startRound();
+        long deadline = System.currentTimeMillis() + 10_000;
+        while(events.size() < events.capacity()){
+            assertTrue("Failure, queue should fill up", System.currentTimeMillis() < deadline);
+            Thread.sleep(1);
+        }
+        simulation.stop();
+        for(Thread thread : Thread.getAllStackTraces().keySet()){
+            assertFalse("Failure, simulation thread should have ended", "simulation".equals(thread.getName()));
+        }
+    }
+
+    @Test
+    public void roundIsPlayedOnSimulationThread() throws InterruptedException {
+        robot.setProgrammedCard(0, new MoveCard(500, 1));
+        simulation.start();
+        simulation.startRound();
+        ArrayList<GameEvent> published = new ArrayList<>();
+        long deadline = System.currentTimeMillis() + 10_000;
+        while(published.isEmpty() || published.get(published.size() - 1).getType() != GameEvent.Type.ROUND_DONE){
+            assertTrue("Failure, round should be done in time", System.currentTimeMillis() < deadline);
+            GameEvent event = events.poll();
+            if(event != null){
+                published.add(event);
+            } else {
+                Thread.sleep(1);
+            }
+        }
+        simulation.stop();
+        assertEquals("Failure, robot should be where the last move event said",
+                lastMove(published).getY(), robot.getPos().getYCoordinate());
+    }
+
+    @Test
+    public void playbackShowsOnePhasePerStep() throws InterruptedException {
+        robot.setProgrammedCard(0, new MoveCard(500, 1));
+        robot.setProgrammedCard(1, new MoveCard(500, 1));
+        ArrayList<GameEvent> shown = new ArrayList<>();
+        EventPlayback playback = new EventPlayback(events, shown::add);
+        PhaseScheduler scheduler = new PhaseScheduler(playback, 0.5f);
+
+        scheduler.startRound();
+        scheduler.update(0);
+        assertTrue("Failure, nothing should be shown before the simulation has played", shown.isEmpty());
+
+        simulation.playRound();
+        scheduler.update(0);
+        assertEquals(3, lastMove(shown).getY());
+        assertEquals(GameEvent.Type.PHASE_DONE, shown.get(shown.size() - 1).getType());
+
+        scheduler.update(0.5f);
+        assertEquals("Failure, second phase should show the second move", 4, lastMove(shown).getY());
+
+        scheduler.setFastForward(true);
+        assertFalse(scheduler.update(0));
+        assertEquals(GameEvent.Type.ROUND_DONE, shown.get(shown.size() - 1).getType());
+    }
+
+    @Test
+    public void sideEffectsArePublishedAsEvents() throws InterruptedException {
+        Robot shooter = new Robot(map, new Position(2,5), "player");
+        shooter.getPos().getDirection().turn(Rotation.LEFT);
+        shooter.getPos().getDirection().turn(Rotation.LEFT);
+        simulation.playRound();
+        ArrayList<GameEvent> published = drain();
+        assertTrue("Failure, lasers should be published", firstOfType(published, GameEvent.Type.LASER) >= 0);
+        boolean hit = false;
+        for(GameEvent event : published){
+            hit |= event.getType() == GameEvent.Type.DAMAGE && event.getRobot() == robot;
+        }
+        assertTrue("Failure, robot in front of the laser should be hit", hit);
+    }
+
+    @Test
+    public void rulesRunOutsideRoundsPublishNothing() {
+        map.fireLasers();
+        robot.addDamageTokens(1);
+        assertTrue("Failure, only the simulation thread may publish", events.isEmpty());
+    }
+}
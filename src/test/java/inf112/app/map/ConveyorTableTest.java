@@ -0,0 +1,103 @@
+package inf112.app.map;
+
+import inf112.app.objects.Robot;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ConveyorTableTest {
+    private Map map;
+    private MapCellList cells;
+    private ConveyorTable table;
+
+    @Before
+    public void setUp() throws Exception {
+        map = new Map("testMap");
+        cells = map.getCellList();
+        table = map.getConveyors();
+    }
+
+    private Position positionOf(int index){
+        return new Position(index % cells.getSizeX(), index / cells.getSizeX());
+    }
+
+    /**
+     * @return A belt that moves robots onto another belt, -1 if there is none
+     */
+    private int findBeltIntoBelt(){
+        for(int index = 0; index < cells.getSizeX() * cells.getSizeY(); index++){
+            int next = table.getDestination(index);
+            if(next != -1 && next != index && table.getDestination(next) != -1 && table.getDestination(next) != next
+                    && table.getDestination(next) != index){
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    @Test
+    public void destinationFollowsExit() {
+        for(int index = 0; index < cells.getSizeX() * cells.getSizeY(); index++){
+            int code = cells.getConveyor(index);
+            if(code == MapCellList.NO_CONVEYOR){
+                assertEquals("Failure - Cell without a belt should have no destination", -1, table.getDestination(index));
+            } else if(!cells.isBlocked(index, MapCellList.conveyorExit(code))){
+                assertEquals("Failure - Belt should move robots towards its exit",
+                        cells.neighbour(index, MapCellList.conveyorExit(code)), table.getDestination(index));
+            }
+        }
+    }
+
+    @Test
+    public void robotsInLineMoveTogether() {
+        int first = findBeltIntoBelt();
+        assertNotEquals("Failure - Test map should have connected belts", -1, first);
+        int second = table.getDestination(first);
+
+        Robot front = new Robot(map, positionOf(second), "player");
+        Robot back = new Robot(map, positionOf(first), "player");
+        map.moveConveyors();
+
+        assertNotEquals("Failure - Back robot should have moved", first, cells.index(back.getPos()));
+        assertNotEquals("Failure - Front robot should have moved", second, cells.index(front.getPos()));
+        assertNotEquals("Failure - Robots should not share a cell",
+                cells.index(front.getPos()), cells.index(back.getPos()));
+        assertSame("Failure - Occupancy should follow the robots", back, map.robotInTile(back.getPos()));
+        assertSame("Failure - Occupancy should follow the robots", front, map.robotInTile(front.getPos()));
+    }
+
+    @Test
+    public void resultDoesNotDependOnRobotOrder() {
+        int first = findBeltIntoBelt();
+        int second = table.getDestination(first);
+
+        Map other = new Map("testMap");
+        Robot back = new Robot(map, positionOf(first), "player");
+        Robot front = new Robot(map, positionOf(second), "player");
+        Robot otherFront = new Robot(other, positionOf(second), "player");
+        Robot otherBack = new Robot(other, positionOf(first), "player");
+        map.moveConveyors();
+        other.moveConveyors();
+
+        assertEquals("Failure - Robots should end up in the same place", front.getPos(), otherFront.getPos());
+        assertEquals("Failure - Robots should end up in the same place", back.getPos(), otherBack.getPos());
+    }
+
+    @Test
+    public void robotOffTheBeltBlocks() {
+        for(int index = 0; index < cells.getSizeX() * cells.getSizeY(); index++){
+            int next = table.getDestination(index);
+            if(next == -1 || next == index || cells.getConveyor(next) != MapCellList.NO_CONVEYOR){
+                continue;
+            }
+            Robot blocker = new Robot(map, positionOf(next), "player");
+            Robot robot = new Robot(map, positionOf(index), "player");
+            map.moveConveyors();
+            assertEquals("Failure - Robot should not move into a robot that stays", index, cells.index(robot.getPos()));
+            assertEquals("Failure - Robot off the belt should not move", next, cells.index(blocker.getPos()));
+            return;
+        }
+        fail("Failure - Test map should have a belt ending on a cell without a belt");
+    }
+}
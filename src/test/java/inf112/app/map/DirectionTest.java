@@ -59,4 +59,19 @@ public class DirectionTest {
     }
 
 
+
+    @Test
+    public void enumTurnMatchesAngles() {
+        for(DirEnum start : DirEnum.values()){
+            for(Rotation rot : Rotation.values()){
+                Direction expected = new Direction(start);
+                expected.turn(rot);
+                assertEquals("Failure, directions are not the same", expected.getDirEnum(), start.turn(rot));
+            }
+            assertEquals("Failure, turning twice should be the opposite direction",
+                    start.turn(Rotation.LEFT).turn(Rotation.LEFT), start.opposite());
+            assertEquals("Failure, steps should cancel out", 0, start.dx() + start.opposite().dx());
+            assertEquals("Failure, steps should cancel out", 0, start.dy() + start.opposite().dy());
+        }
+    }
 }
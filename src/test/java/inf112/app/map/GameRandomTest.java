@@ -0,0 +1,31 @@
+package inf112.app.map;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class GameRandomTest {
+
+    @Test
+    public void sameNumbersAsRandom() {
+        Random random = new Random(42);
+        GameRandom gameRandom = new GameRandom(42);
+        for(int i = 0; i < 100; i++){
+            assertEquals("Failure, seeded games should shuffle as before", random.nextInt(84), gameRandom.nextInt(84));
+        }
+        assertEquals(random.nextLong(), gameRandom.nextLong());
+    }
+
+    @Test
+    public void stateRepeatsTheNumbers() {
+        GameRandom random = new GameRandom(42);
+        random.nextInt();
+        long state = random.getState();
+        int first = random.nextInt();
+        random.nextInt();
+        random.setState(state);
+        assertEquals(first, random.nextInt());
+    }
+}
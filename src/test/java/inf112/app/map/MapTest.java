@@ -1,24 +1,24 @@
 package inf112.app.map;
 
-import com.badlogic.gdx.maps.tiled.TiledMap;
-import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
-import com.badlogic.gdx.maps.tiled.TmxMapLoader;
 import inf112.app.GdxTestRunner;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import inf112.app.cards.CardSlot;
+import inf112.app.game.Rounds;
+import inf112.app.objects.*;
+
+import java.util.Arrays;
+
 import static org.junit.Assert.*;
 
 @RunWith(GdxTestRunner.class)
 public class MapTest {
     private Map objectMap;
-    private TiledMap map;
 
     @Before
     public void setUp() throws Exception {
-        TmxMapLoader loader = new TmxMapLoader();
-        map = loader.load("assets/testMap.tmx");
         Map.setInstance("testMap");
         objectMap = Map.getInstance();
     }
@@ -39,41 +39,6 @@ public class MapTest {
         assertEquals(this.objectMap.getMapSizeY(),15);
     }
 
-    /**
-     * Get all layers and compare them by name
-     */
-    @Test
-    public void getLayer() {
-        TiledMapTileLayer boardLayer = (TiledMapTileLayer) map.getLayers().get("Board");
-        TiledMapTileLayer holeLayer = (TiledMapTileLayer) map.getLayers().get("Hole");
-        TiledMapTileLayer flagLayer = (TiledMapTileLayer) map.getLayers().get("Flag");
-        TiledMapTileLayer playerLayer = (TiledMapTileLayer) map.getLayers().get("Player");
-        TiledMapTileLayer gearLayer = (TiledMapTileLayer) map.getLayers().get("Gear");
-        TiledMapTileLayer wallLayer = (TiledMapTileLayer) map.getLayers().get("Wall");
-        TiledMapTileLayer conveyorLayer = (TiledMapTileLayer) map.getLayers().get("Conveyor");
-        TiledMapTileLayer laserLayer = (TiledMapTileLayer) map.getLayers().get("Laser");
-        TiledMapTileLayer utilityLayer = (TiledMapTileLayer) map.getLayers().get("Utility");
-
-        assertEquals("Failure - board layer is not the same",
-                this.objectMap.getLayer("board").getName(), boardLayer.getName());
-        assertEquals("Failure - hole layer is not the same",
-                this.objectMap.getLayer("hole").getName(), holeLayer.getName());
-        assertEquals("Failure - flag layer is not the same",
-                this.objectMap.getLayer("flag").getName(), flagLayer.getName());
-        assertEquals("Failure - player layer is not the same",
-                this.objectMap.getLayer("player").getName(), playerLayer.getName());
-        assertEquals("Failure - gear layer is not the same",
-                this.objectMap.getLayer("gear").getName(), gearLayer.getName());
-        assertEquals("Failure - wall layer is not the same",
-                this.objectMap.getLayer("wall").getName(), wallLayer.getName());
-        assertEquals("Failure - conveyor layer is not the same",
-                this.objectMap.getLayer("conveyor").getName(), conveyorLayer.getName());
-        assertEquals("Failure - laser layer is not the same",
-                this.objectMap.getLayer("laser").getName(), laserLayer.getName());
-        assertEquals("Failure - utility layer is not the same",
-                this.objectMap.getLayer("utility").getName(), utilityLayer.getName());
-    }
-
     /**
      * Check for valid move. Test map is 15 by 15 in size.
      */
@@ -87,4 +52,196 @@ public class MapTest {
                 this.objectMap.validMove(new Position(16,16,
                 new Direction(Direction.DirEnum.NORTH))));
     }
-}
\ No newline at end of file
+
+    /**
+     * The flat arrays should describe the same board as the objects in the cells
+     */
+    @Test
+    public void cellArraysMatchInventories() {
+        MapCellList cells = this.objectMap.getCellList();
+        for(int x = 0; x < cells.getSizeX(); x++){
+            for(int y = 0; y < cells.getSizeY(); y++){
+                int index = cells.index(x, y);
+                int wallMask = 0;
+                int conveyor = MapCellList.NO_CONVEYOR;
+                Direction.Rotation cog = null;
+                int flag = 0;
+                int repairSpeed = 0;
+                for(IBoardElement elem : cells.getCell(x, y).getInventory().getElements()){
+                    if(elem instanceof Wall){
+                        for(Direction side : ((Wall) elem).getFacing()){
+                            wallMask |= 1 << side.getDirEnum().ordinal();
+                        }
+                    } else if(elem instanceof Conveyor){
+                        Conveyor belt = (Conveyor) elem;
+                        assertEquals("Failure - Wrong conveyor exit", belt.getExit().getDirEnum(),
+                                MapCellList.conveyorExit(cells.getConveyor(index)));
+                        assertEquals("Failure - Wrong conveyor speed", belt.getSpeed(),
+                                MapCellList.conveyorSpeed(cells.getConveyor(index)));
+                        conveyor = cells.getConveyor(index);
+                    } else if(elem instanceof Cog){
+                        cog = ((Cog) elem).getRotation();
+                    } else if(elem instanceof Flag){
+                        flag = ((Flag) elem).getNum();
+                    } else if(elem instanceof RepairStation){
+                        repairSpeed = ((RepairStation) elem).getRepairSpeed();
+                    }
+                }
+                assertEquals("Failure - Wrong wall mask", wallMask, cells.getWallMask(index));
+                assertEquals("Failure - Wrong conveyor", conveyor, cells.getConveyor(index));
+                assertEquals("Failure - Wrong cog", cog, cells.getCog(index));
+                assertEquals("Failure - Wrong flag", flag, cells.getFlag(index));
+                assertEquals("Failure - Wrong repair speed", repairSpeed, cells.getRepairSpeed(index));
+            }
+        }
+        assertEquals("Failure - There should be a flag at X=11, Y=11", 1, cells.getFlag(cells.index(11, 11)));
+    }
+
+    /**
+     * Walls should block both the move out of the cell and the move into it
+     */
+    @Test
+    public void wallsBlockBothWays() {
+        MapCellList cells = this.objectMap.getCellList();
+        boolean foundWall = false;
+        for(int x = 0; x < cells.getSizeX(); x++){
+            for(int y = 0; y < cells.getSizeY(); y++){
+                int mask = cells.getWallMask(cells.index(x, y));
+                for(Direction.DirEnum dir : Direction.DirEnum.values()){
+                    if((mask & (1 << dir.ordinal())) == 0){
+                        continue;
+                    }
+                    foundWall = true;
+                    Position out = new Position(x, y, new Direction(dir));
+                    assertFalse("Failure - Wall should block the move out of the cell", this.objectMap.validMove(out));
+                    Position in = out.copyOf();
+                    in.moveInDirection();
+                    if(in.getXCoordinate() < 0 || in.getYCoordinate() < 0 ||
+                            in.getXCoordinate() >= cells.getSizeX() || in.getYCoordinate() >= cells.getSizeY()){
+                        continue;
+                    }
+                    Direction back = new Direction(dir);
+                    back.turn(Direction.Rotation.LEFT);
+                    back.turn(Direction.Rotation.LEFT);
+                    in.setDirection(back);
+                    assertFalse("Failure - Wall should block the move into the cell", this.objectMap.validMove(in));
+                }
+            }
+        }
+        assertTrue("Failure - The test map should have walls", foundWall);
+    }
+
+    /**
+     * Every move off the board should be invalid
+     */
+    @Test
+    public void boardEdgesBlock() {
+        int maxX = this.objectMap.getMapSizeX() - 1;
+        int maxY = this.objectMap.getMapSizeY() - 1;
+        for(int i = 0; i <= maxX; i++){
+            assertFalse("Failure - Should not be able to move off the bottom",
+                    this.objectMap.validMove(new Position(i, 0, new Direction(Direction.DirEnum.SOUTH))));
+            assertFalse("Failure - Should not be able to move off the top",
+                    this.objectMap.validMove(new Position(i, maxY, new Direction(Direction.DirEnum.NORTH))));
+        }
+        for(int i = 0; i <= maxY; i++){
+            assertFalse("Failure - Should not be able to move off the left side",
+                    this.objectMap.validMove(new Position(0, i, new Direction(Direction.DirEnum.WEST))));
+            assertFalse("Failure - Should not be able to move off the right side",
+                    this.objectMap.validMove(new Position(maxX, i, new Direction(Direction.DirEnum.EAST))));
+        }
+    }
+
+    /**
+     * The occupancy should follow the robots as they are moved, pushed, put back and deleted
+     */
+    @Test
+    public void occupancyFollowsRobots() {
+        Map map = new Map("testMap");
+        Robot pusher = new Robot(map, new Position(2,2), "player");
+        Robot pushed = new Robot(map, new Position(2,3), "player");
+        assertSame("Failure - Robot should occupy its start cell", pusher, map.robotInTile(new Position(2,2)));
+
+        pusher.move(1);
+        assertNull("Failure - Cell should be empty after the robot left", map.robotInTile(new Position(2,2)));
+        assertSame("Failure - Pushing robot should occupy the next cell", pusher, map.robotInTile(new Position(2,3)));
+        assertSame("Failure - Pushed robot should occupy the cell after", pushed, map.robotInTile(new Position(2,4)));
+
+        //Both robots are put back on the same checkpoint
+        pusher.setCheckPoint(new Position(5,5));
+        pushed.setCheckPoint(new Position(5,5));
+        pusher.backToCheckPoint();
+        pushed.backToCheckPoint();
+        assertNull("Failure - Cell should be empty after the robot left", map.robotInTile(new Position(2,3)));
+        assertNull("Failure - Cell should be empty after the robot left", map.robotInTile(new Position(2,4)));
+        map.deleteRobot(pushed);
+        assertSame("Failure - Remaining robot should still occupy the checkpoint", pusher,
+                map.robotInTile(new Position(5,5)));
+
+        map.clearBots();
+        assertNull("Failure - Map should be empty after clearing the robots", map.robotInTile(new Position(5,5)));
+    }
+
+    /**
+     * Plays a round with the first five dealt cards of every robot
+     * @param map The game
+     */
+    private void playRound(Map map){
+        Rounds rounds = new Rounds(map);
+        rounds.putBackPlayers();
+        for(Robot robot : map.getRobotList()){
+            CardSlot[] available = robot.getAvailableCards();
+            for(int i = 0; i < 5; i++){
+                if(available[i].hasCard()){
+                    robot.setProgrammedCard(i, available[i].removeCard());
+                }
+            }
+        }
+        for(int phase = 1; phase <= 5; phase++){
+            rounds.doPhase(phase);
+            map.deactivateLasers();
+        }
+        rounds.dealCards();
+    }
+
+    /**
+     * A restored game should be the same game, down to the cards it deals next
+     */
+    @Test
+    public void restoredGamePlaysTheSame() {
+        Map map = new Map("testMap", 77L);
+        for(int x = 2; x <= 8; x += 2){
+            new Robot(map, new Position(x,2), "player");
+        }
+        new Rounds(map).dealCards();
+        map.getRobotList().get(0).getProgrammedCards()[4].lockSlot();
+        int[] start = map.snapshot();
+        assertTrue("Failure - Snapshot should be a few hundred bytes", start.length * 4 < 512);
+
+        for(int round = 0; round < 5; round++){
+            playRound(map);
+        }
+        int[] played = map.snapshot();
+        assertFalse("Failure - Game should have changed", Arrays.equals(start, played));
+
+        map.restore(start);
+        assertArrayEquals("Failure - Restore should put everything back", start, map.snapshot());
+        assertTrue("Failure - Lock should be restored", map.getRobotList().get(0).getProgrammedCards()[4].isLocked());
+        for(Robot robot : map.getRobotList()){
+            assertSame("Failure - Restored robot should occupy its cell", robot, map.robotInTile(robot.getPos()));
+        }
+
+        for(int round = 0; round < 5; round++){
+            playRound(map);
+        }
+        assertArrayEquals("Failure - Restored game should play out the same", played, map.snapshot());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void snapshotMustFitTheRobots() {
+        Map map = new Map("testMap");
+        int[] empty = map.snapshot();
+        new Robot(map, new Position(2,2), "player");
+        map.restore(empty);
+    }
+}
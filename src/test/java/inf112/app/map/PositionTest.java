@@ -45,4 +45,20 @@ public class PositionTest {
         pos.moveInDirection();
         assertEquals("Failure, positions should be the same", target, pos);
     }
+
+    @Test
+    public void stepKeepsDirection() {
+        Position target = new Position(4,3,new Direction(DirEnum.NORTH));
+        pos.step(DirEnum.EAST);
+        assertEquals("Failure, positions should be the same", target, pos);
+    }
+
+    @Test
+    public void setCopiesWithoutSharing() {
+        Position other = new Position(7,8,new Direction(DirEnum.WEST));
+        pos.set(other);
+        assertEquals("Failure, positions should be the same", other, pos);
+        other.getDirection().turn(Rotation.RIGHT);
+        assertEquals("Failure, direction should not be shared", DirEnum.WEST, pos.getDirection().getDirEnum());
+    }
 }
@@ -1,6 +1,7 @@
 package inf112.app.objects;
 
 import inf112.app.GdxTestRunner;
+import inf112.app.map.Direction;
 import inf112.app.map.Map;
 import inf112.app.map.Position;
 import org.junit.Before;
@@ -73,4 +74,54 @@ public class LaserTest {
         Map.getInstance().deleteRobot(robot);
         Map.getInstance().deleteRobot(target);
     }
-}
\ No newline at end of file
+
+    /**
+     * Finds the beam of the laser starting in a cell
+     * @param map The map the lasers were fired on
+     * @param start The cell the laser is mounted in
+     * @return The beam, null if there is none
+     */
+    private LaserBeam beamFrom(Map map, Position start){
+        for(LaserBeam beam : map.getLaserBeams()){
+            if(beam.getPath().get(0).getPosition().equals(start)){
+                return beam;
+            }
+        }
+        return null;
+    }
+
+    @Test
+    public void wallLaserRetracedWhenRobotsMove(){
+        Map map = new Map("testMap");
+        map.fireLasers();
+        LaserBeam longest = null;
+        for(LaserBeam beam : map.getLaserBeams()){
+            if(longest == null || beam.getPath().size() > longest.getPath().size()){
+                longest = beam;
+            }
+        }
+        assertNotNull("Fail, the test map should have wall lasers", longest);
+        int fullLength = longest.getPath().size();
+        assertTrue("Fail, the beam should be long enough to be blocked", fullLength >= 3);
+        Position start = longest.getPath().get(0).getPosition();
+        Position middle = longest.getPath().get(fullLength / 2).getPosition();
+
+        Robot robot = new Robot(map, new Position(middle.getXCoordinate(), middle.getYCoordinate()), "player");
+        map.fireLasers();
+        assertEquals("Fail, the beam should stop at the robot", fullLength / 2 + 1,
+                beamFrom(map, start).getPath().size());
+        assertTrue("Fail, the robot should be hit", robot.getDamageTokens() > 0);
+
+        //Step off the beam sideways
+        Direction.DirEnum side = longest.isHorizontal() ? Direction.DirEnum.NORTH : Direction.DirEnum.EAST;
+        robot.move(new Direction(side));
+        if(robot.getPos().getXCoordinate() == middle.getXCoordinate() &&
+                robot.getPos().getYCoordinate() == middle.getYCoordinate()){
+            robot.move(new Direction(longest.isHorizontal() ? Direction.DirEnum.SOUTH : Direction.DirEnum.WEST));
+        }
+        map.fireLasers();
+        assertEquals("Fail, the beam should reach the end when the robot has left",
+                fullLength, beamFrom(map, start).getPath().size());
+        map.deleteRobot(robot);
+    }
+}
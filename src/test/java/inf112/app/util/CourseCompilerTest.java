@@ -0,0 +1,93 @@
+package inf112.app.util;
+
+import com.badlogic.gdx.files.FileHandle;
+import inf112.app.map.Direction;
+import inf112.app.map.MapCellList;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+public class CourseCompilerTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private String pathToMap;
+
+    /**
+     * Copies a course and its tileset, so the compiled file is written outside the assets
+     */
+    @Before
+    public void setUp() throws Exception {
+        FileHandle root = new FileHandle(folder.getRoot());
+        new FileHandle("assets/tiles.tsx").copyTo(root);
+        FileHandle map = root.child("Maps").child("IslandHop.tmx");
+        new FileHandle("assets/Maps/IslandHop.tmx").copyTo(map);
+        pathToMap = map.path();
+    }
+
+    @Test
+    public void compiledCourseMatchesTmx() {
+        MapCellList expected = new BoardReader().read(pathToMap);
+        CourseCompiler.compile(pathToMap);
+        MapCellList actual = CourseCompiler.read(pathToMap);
+        assertNotNull("Failure, compiled course should be read", actual);
+        assertEquals(expected.getSizeX(), actual.getSizeX());
+        assertEquals(expected.getSizeY(), actual.getSizeY());
+        for(int index = 0; index < expected.getSizeX() * expected.getSizeY(); index++){
+            assertEquals("Failure, walls differ in cell " + index, expected.getWallMask(index), actual.getWallMask(index));
+            assertEquals("Failure, belts differ in cell " + index, expected.getConveyor(index), actual.getConveyor(index));
+            assertEquals("Failure, cogs differ in cell " + index, expected.getCog(index), actual.getCog(index));
+            assertEquals("Failure, flags differ in cell " + index, expected.getFlag(index), actual.getFlag(index));
+            assertEquals("Failure, repair stations differ in cell " + index,
+                    expected.getRepairSpeed(index), actual.getRepairSpeed(index));
+            assertEquals("Failure, elements differ in cell " + index,
+                    expected.getCell(index).getInventory().getElements().size(),
+                    actual.getCell(index).getInventory().getElements().size());
+            for(Direction.DirEnum dir : Direction.DirEnum.values()){
+                assertEquals(expected.isBlocked(index, dir), actual.isBlocked(index, dir));
+            }
+        }
+        for(int number = 1; number <= MapCellList.MAX_STARTS; number++){
+            assertEquals("Failure, start " + number + " differs", expected.getStart(number), actual.getStart(number));
+        }
+    }
+
+    @Test
+    public void staleCourseIsCompiledAgain() {
+        CourseCompiler.compile(pathToMap);
+        new FileHandle(pathToMap).writeString("\n", true);
+        assertNull("Failure, changed course should not be read from the old file", CourseCompiler.read(pathToMap));
+        assertNotNull("Failure, course should load from the .tmx file", CourseCompiler.load(pathToMap));
+        assertNotNull("Failure, loading should compile the course again", CourseCompiler.read(pathToMap));
+    }
+
+    @Test
+    public void missingCourseFileIsNotRead() {
+        assertNull("Failure, nothing is compiled yet", CourseCompiler.read(pathToMap));
+    }
+
+    @Test
+    public void changedTilesetIsReadAgain() {
+        CourseCompiler.compile(pathToMap);
+        assertTrue("Failure, the course should have walls", hasWalls(CourseCompiler.read(pathToMap)));
+
+        //The walls of the tileset are turned into holes
+        FileHandle tileset = new FileHandle(folder.getRoot()).child("tiles.tsx");
+        tileset.writeString(tileset.readString().replace("type=\"wall\"", "type=\"hole\""), false);
+        assertNull("Failure, course should not be read with the old tileset", CourseCompiler.read(pathToMap));
+        assertFalse("Failure, course should be built from the new tileset", hasWalls(CourseCompiler.load(pathToMap)));
+        assertFalse("Failure, course should be compiled from the new tileset", hasWalls(CourseCompiler.read(pathToMap)));
+    }
+
+    private static boolean hasWalls(MapCellList cells){
+        for(int index = 0; index < cells.getSizeX() * cells.getSizeY(); index++){
+            if(cells.getWallMask(index) != 0){
+                return true;
+            }
+        }
+        return false;
+    }
+}
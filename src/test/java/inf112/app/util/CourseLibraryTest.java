@@ -0,0 +1,67 @@
+package inf112.app.util;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetManager;
+import inf112.app.GdxTestRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+
+import static org.junit.Assert.*;
+
+@RunWith(GdxTestRunner.class)
+public class CourseLibraryTest {
+    private AssetManager manager;
+    private CourseLibrary library;
+
+    @Before
+    public void setUp() throws Exception {
+        manager = new AssetManager();
+        library = new CourseLibrary(manager, Gdx.files.internal("assets/Maps"), 2);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        //The maps are only queued, never loaded, so nothing needs the tile textures
+        manager.clear();
+    }
+
+    @Test
+    public void readsCoursesWithoutLoadingThem() {
+        Course course = library.find("IslandHop");
+        assertNotNull("Failure, course should be listed", course);
+        assertEquals("Failure, width should be read from the file", 15, course.getWidth());
+        assertEquals("Failure, height should be read from the file", 15, course.getHeight());
+        assertEquals("Failure, path should be the asset name", "assets/Maps/IslandHop.tmx", course.getPath());
+        assertFalse("Failure, no map should be loaded at startup", manager.isLoaded(course.getPath()));
+        assertEquals("Failure, nothing should be queued at startup", 0, manager.getQueuedAssets());
+    }
+
+    @Test
+    public void leastRecentlyUsedMapIsUnloaded() {
+        ArrayList<Course> courses = library.getCourses();
+        library.request(courses.get(0));
+        library.request(courses.get(1));
+        library.request(courses.get(0));
+        library.request(courses.get(2));
+        assertTrue("Failure, recently used course should stay", library.isResident(courses.get(0)));
+        assertFalse("Failure, least recently used course should be unloaded", library.isResident(courses.get(1)));
+        assertTrue("Failure, requested course should be loading", library.isResident(courses.get(2)));
+        assertEquals("Failure, unloaded course should leave the queue", 2, manager.getQueuedAssets());
+    }
+
+    @Test
+    public void pinnedMapIsKept() {
+        ArrayList<Course> courses = library.getCourses();
+        library.pin(courses.get(0));
+        for(int i = 1; i < courses.size(); i++){
+            library.request(courses.get(i));
+        }
+        assertTrue("Failure, pinned course should never be unloaded", library.isResident(courses.get(0)));
+        assertTrue("Failure, last requested course should be loading", library.isResident(courses.get(courses.size() - 1)));
+        assertFalse("Failure, older courses should be unloaded", library.isResident(courses.get(1)));
+    }
+}
@@ -0,0 +1,51 @@
+package inf112.app.util;
+
+import inf112.app.cards.CardDeck;
+import inf112.app.cards.CardSlot;
+import inf112.app.game.Rounds;
+import inf112.app.map.Map;
+import inf112.app.map.Position;
+import inf112.app.objects.Robot;
+import org.junit.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.Assert.*;
+
+public class MapLoaderTest {
+
+    /**
+     * Sets up a match the way the loading screen and the game screen do, and deals the first hands
+     * @param seed The seed of the match
+     * @return Ids of the dealt cards, robot by robot
+     */
+    private ArrayList<Integer> dealFirstHands(long seed){
+        MapLoader.Parameters parameters = new MapLoader.Parameters();
+        parameters.seed = seed;
+        Map map = MapLoader.build("testMap", parameters);
+        for(int x = 2; x <= 8; x += 2){
+            new Robot(map, new Position(x,2),"player");
+        }
+        new Rounds(map).dealCards();
+        ArrayList<Integer> hands = new ArrayList<>();
+        for(Robot robot : map.getRobotList()){
+            for(CardSlot slot : robot.getAvailableCards()){
+                hands.add(slot.hasCard() ? CardDeck.getId(slot.getCard()) : -1);
+            }
+        }
+        return hands;
+    }
+
+    @Test
+    public void sameSeedDealsTheSameHands() {
+        assertEquals("Failure, matches with the same seed should deal the same cards",
+                dealFirstHands(1234L), dealFirstHands(1234L));
+    }
+
+    @Test
+    public void seedIsKeptByTheMap() {
+        MapLoader.Parameters parameters = new MapLoader.Parameters();
+        parameters.seed = 99L;
+        assertEquals(99L, MapLoader.build("testMap", parameters).getSeed());
+    }
+}
@@ -1,8 +1,10 @@
 package inf112.app.util;
 
+import com.badlogic.gdx.maps.tiled.TiledMap;
 import com.badlogic.gdx.maps.tiled.TiledMapTile;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.TmxMapLoader;
 import inf112.app.GdxTestRunner;
-import inf112.app.map.Map;
 import inf112.app.objects.*;
 import org.junit.Before;
 import org.junit.Test;
@@ -12,40 +14,43 @@ import static org.junit.Assert.*;
 
 @RunWith(GdxTestRunner.class)
 public class ObjectFactoryTest {
-    private Map map;
+    private TiledMap map;
     private ObjectFactory factory;
 
     @Before
     public void setUp() throws Exception {
         factory = new ObjectFactory();
-        Map.setInstance("testMap");
-        map = Map.getInstance();
+        map = new TmxMapLoader().load("assets/testMap.tmx");
+    }
+
+    private TiledMapTileLayer getLayer(String name){
+        return (TiledMapTileLayer) map.getLayers().get(name);
     }
 
     @Test
     public void generateWallTest() {
-        TiledMapTile tile = map.getLayer("wall").getCell(3,7).getTile();
+        TiledMapTile tile = getLayer("Wall").getCell(3,7).getTile();
         IBoardElement actual = factory.generateObject(tile,3,7);
         assertTrue("Failure, object should be instance of Wall", actual instanceof Wall);
     }
 
     @Test
     public void generateFlagTest() {
-        TiledMapTile tile = map.getLayer("flag").getCell(11,11).getTile();
+        TiledMapTile tile = getLayer("Flag").getCell(11,11).getTile();
         IBoardElement actual = factory.generateObject(tile,11,11);
         assertTrue("Failure, object should be instance of Flag",actual instanceof Flag);
     }
 
     @Test
     public void generateConveyorTest() {
-        TiledMapTile tile = map.getLayer("conveyor").getCell(7,4).getTile();
+        TiledMapTile tile = getLayer("Conveyor").getCell(7,4).getTile();
         IBoardElement actual = factory.generateObject(tile,7,4);
         assertTrue("Failure, object should be instance of Conveyor",actual instanceof Conveyor);
     }
 
     @Test
     public void generateRepairStationTest() {
-        TiledMapTile tile = map.getLayer("utility").getCell(4,10).getTile();
+        TiledMapTile tile = getLayer("Utility").getCell(4,10).getTile();
         IBoardElement actual = factory.generateObject(tile,4,10);
         assertTrue("Failure, object should be instance of RepairStation",actual instanceof RepairStation);
     }
@@ -0,0 +1,59 @@
+package inf112.app.util;
+
+import com.badlogic.gdx.files.FileHandle;
+import inf112.app.objects.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TileRegistryTest {
+    private TileRegistry registry;
+
+    @Before
+    public void setUp() throws Exception {
+        registry = TileRegistry.forTileset(new FileHandle("assets/tiles.tsx"), 1);
+    }
+
+    @Test
+    public void tilesetIsOnlyReadOnce() {
+        assertSame("Failure, maps with the same tileset should share the registry",
+                registry, TileRegistry.forTileset(new FileHandle("assets/tiles.tsx"), 1));
+    }
+
+    @Test
+    public void createsElementsFromDecodedProperties() {
+        assertTrue("Failure, tile should be a wall", registry.create(29, 3, 7) instanceof Wall);
+        assertTrue("Failure, tile should be a conveyor", registry.create(18, 0, 0) instanceof Conveyor);
+        assertTrue("Failure, tile should be a cog", registry.create(53, 0, 0) instanceof Cog);
+        assertEquals("Failure, flag number should come from the tileset", new Flag(1), registry.create(55, 0, 0));
+        assertNotSame("Failure, every cell should get its own element", registry.create(29, 3, 7), registry.create(29, 3, 7));
+    }
+
+    @Test
+    public void tilesWithoutLogicGiveNothing() {
+        assertNull("Failure, board tile has no game logic", registry.create(5, 0, 0));
+        assertNull("Failure, hole tile has no object", registry.create(6, 0, 0));
+    }
+
+    @Test
+    public void startingPlatformsAreNumbered() {
+        assertEquals(1, registry.startNumber(121));
+        assertEquals(4, registry.startNumber(124));
+        assertEquals(5, registry.startNumber(129));
+        assertEquals(8, registry.startNumber(132));
+        assertEquals("Failure, a wall is no starting platform", 0, registry.startNumber(29));
+    }
+
+    @Test
+    public void typesComeFromTheTileset() {
+        //The first push panels are only typed in the tileset, they are in no id range
+        assertTrue(registry.isRegistered(1));
+        assertNull("Failure, push panel has no game logic", registry.create(1, 0, 0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownTileThrows() {
+        registry.create(1000, 0, 0);
+    }
+}